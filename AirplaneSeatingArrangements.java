@@ -10,27 +10,14 @@ public int solution(int N, String S) {
     // Track which seats are already occupied
     boolean[][] isOccupied = new boolean[N][10];
     
-    // Parse and mark all reserved seats
+    // Parse and mark all reserved seats, rejecting malformed ones
     if (S != null && !S.trim().isEmpty()) {
-        String[] reservedSeats = S.split(" ");
-        for (String seat : reservedSeats) {
-            // Extract row number (1-indexed, so subtract 1 for 0-indexed array)
-            int row = Integer.parseInt(seat.substring(0, seat.length() - 1)) - 1;
-            
-            // Extract seat letter
-            char seatLetter = seat.charAt(seat.length() - 1);
-            
-            // Convert seat letter to column index (A=0, B=1, C=2, D=3, E=4, F=5, G=6, H=7, J=8, K=9)
-            int col;
-            if (seatLetter < 'I') {
-                col = seatLetter - 'A';
-            } else {
-                // Skip 'I' since it's not used in seat labeling
-                col = seatLetter - 'A' - 1;
+        int[] rowMasks = new int[N];
+        parseReservations(S, N, rowMasks);
+        for (int row = 0; row < N; row++) {
+            for (int col = 0; col < 10; col++) {
+                isOccupied[row][col] = (rowMasks[row] & (1 << col)) != 0;
             }
-            
-            // Mark the seat as occupied
-            isOccupied[row][col] = true;
         }
     }
     
@@ -93,6 +80,667 @@ public int solution(int N, String S) {
     return totalFamilies;
 }
 
+// Column bitmasks for the three family placements (bit i = column i, A=0 ... K=9)
+private static final int LEFT_CROSS_MASK = 0b0000011110;  // B,C,D,E (columns 1-4)
+private static final int MIDDLE_MASK = 0b0001111000;      // D,E,F,G (columns 3-6)
+private static final int RIGHT_CROSS_MASK = 0b0111100000; // F,G,H,J (columns 5-8)
+
+/**
+ * Bit-packed variant of {@link #solution(int, String)}.
+ * Each row is stored as a 10-bit occupancy mask in a single int[] instead of a
+ * boolean[N][10] grid, so the map costs 4 bytes per row with no per-row array header,
+ * and every family placement is checked with one AND against a precomputed mask.
+ * 
+ * @param N Number of rows in the airplane
+ * @param S String containing reserved seats (e.g., "1A 3C 2B")
+ * @return Maximum number of 4-person families that can be seated
+ */
+public int solutionBitPacked(int N, String S) {
+    // One occupancy mask per row
+    int[] rowMasks = new int[N];
+    
+    // Parse and mark all reserved seats
+    if (S != null) {
+        parseReservations(S, N, rowMasks);
+    }
+    
+    int totalFamilies = 0;
+    for (int row = 0; row < N; row++) {
+        totalFamilies += familiesInRow(rowMasks[row]);
+    }
+    
+    return totalFamilies;
+}
+
+/**
+ * Parses reserved seats (e.g., "1A 3C 2B") in a single pass over the characters and
+ * marks them in the given row masks. No intermediate String objects are created:
+ * the row number is accumulated digit by digit and the seat letter is decoded in place.
+ * 
+ * @param S Reserved seats separated by spaces
+ * @param N Number of rows in the airplane
+ * @param rowMasks Occupancy masks to update, one per row
+ * @throws IllegalArgumentException if a token is malformed, names an unknown seat
+ *         letter (including 'I') or a row outside 1..N
+ */
+static void parseReservations(CharSequence S, int N, int[] rowMasks) {
+    parseReservations(S, N, rowMasks, CabinLayout.STANDARD);
+}
+
+/**
+ * Same as {@link #parseReservations(CharSequence, int, int[])}, decoding seat letters
+ * with the given cabin layout.
+ */
+static void parseReservations(CharSequence S, int N, int[] rowMasks, CabinLayout layout) {
+    int length = S.length();
+    int i = 0;
+    
+    while (i < length) {
+        // Skip separators between tokens
+        if (S.charAt(i) == ' ') {
+            i++;
+            continue;
+        }
+        
+        int tokenStart = i;
+        
+        // Accumulate the row number; stop growing once it is past N so it cannot overflow
+        long row = 0;
+        while (i < length && S.charAt(i) >= '0' && S.charAt(i) <= '9') {
+            if (row <= N) {
+                row = row * 10 + (S.charAt(i) - '0');
+            }
+            i++;
+        }
+        
+        // A token is digits followed by exactly one seat letter
+        if (i == tokenStart || i == length || (i + 1 < length && S.charAt(i + 1) != ' ')) {
+            throw malformedSeat(S, tokenStart, "expected <row><seat letter>");
+        }
+        
+        int col = layout.seatColumn(S.charAt(i));
+        i++;
+        
+        if (col < 0) {
+            throw malformedSeat(S, tokenStart, "seat letter must be one of " + layout.seatLetters);
+        }
+        if (row < 1 || row > N) {
+            throw malformedSeat(S, tokenStart, "row must be between 1 and " + N);
+        }
+        
+        rowMasks[(int) row - 1] |= 1 << col;
+    }
+}
+
+/**
+ * Builds the error for a bad token. Only called on the failure path, so the
+ * substring allocation here does not affect parsing of valid input.
+ */
+private static IllegalArgumentException malformedSeat(CharSequence S, int tokenStart, String reason) {
+    int tokenEnd = tokenStart;
+    while (tokenEnd < S.length() && S.charAt(tokenEnd) != ' ') {
+        tokenEnd++;
+    }
+    return new IllegalArgumentException("Invalid reserved seat \"" + S.subSequence(tokenStart, tokenEnd)
+            + "\" at index " + tokenStart + ": " + reason);
+}
+
+/**
+ * Returns the maximum number of families (0, 1 or 2) that fit in a row
+ * with the given occupancy mask.
+ */
+private static int familiesInRow(int mask) {
+    boolean isLeftCrossAvailable = (mask & LEFT_CROSS_MASK) == 0;
+    boolean isRightCrossAvailable = (mask & RIGHT_CROSS_MASK) == 0;
+    
+    if (isLeftCrossAvailable && isRightCrossAvailable) {
+        return 2;
+    }
+    if (isLeftCrossAvailable || isRightCrossAvailable || (mask & MIDDLE_MASK) == 0) {
+        return 1;
+    }
+    return 0;
+}
+
+// Below this many rows the per-row loop is cheaper than forking
+private static final int PARALLEL_ROW_THRESHOLD = 1 << 16;
+
+/**
+ * Parallel variant of {@link #solutionBitPacked(int, String)}.
+ * Rows are split into chunks that are counted on the common ForkJoinPool and the
+ * per-chunk family counts are summed. Planes with fewer than
+ * PARALLEL_ROW_THRESHOLD rows are counted sequentially.
+ * 
+ * Only the per-row count runs in parallel; the reservations are still parsed on the
+ * calling thread. Counting is three mask tests per row (familiesInRow), so when S is
+ * long, parsing dominates and this mode is barely faster than solutionBitPacked. To keep
+ * all cores busy over many flights, use solutionBatch, which scores whole flights in
+ * parallel.
+ * 
+ * @param N Number of rows in the airplane
+ * @param S String containing reserved seats (e.g., "1A 3C 2B")
+ * @return Maximum number of 4-person families that can be seated
+ */
+public int solutionParallel(int N, String S) {
+    if (N < PARALLEL_ROW_THRESHOLD) {
+        return solutionBitPacked(N, S);
+    }
+    
+    int[] rowMasks = new int[N];
+    if (S != null) {
+        parseReservations(S, N, rowMasks);
+    }
+    
+    return java.util.concurrent.ForkJoinPool.commonPool().invoke(new FamilyCountTask(rowMasks, 0, N));
+}
+
+/**
+ * Counts the families in rows [from, to), splitting in half until a chunk
+ * is below the threshold.
+ */
+static class FamilyCountTask extends java.util.concurrent.RecursiveTask<Integer> {
+    private static final long serialVersionUID = 1L;
+    
+    private final int[] rowMasks;
+    private final int from;
+    private final int to;
+    
+    FamilyCountTask(int[] rowMasks, int from, int to) {
+        this.rowMasks = rowMasks;
+        this.from = from;
+        this.to = to;
+    }
+    
+    @Override
+    protected Integer compute() {
+        if (to - from <= PARALLEL_ROW_THRESHOLD) {
+            int families = 0;
+            for (int row = from; row < to; row++) {
+                families += familiesInRow(rowMasks[row]);
+            }
+            return families;
+        }
+        
+        int mid = (from + to) >>> 1;
+        FamilyCountTask left = new FamilyCountTask(rowMasks, from, mid);
+        left.fork();
+        int rightFamilies = new FamilyCountTask(rowMasks, mid, to).compute();
+        return left.join() + rightFamilies;
+    }
+}
+
+/**
+ * A flight to score in a batch: its number of rows and its reserved seats.
+ */
+static class Flight {
+    final int rows;
+    final String reservedSeats;
+    
+    Flight(int rows, String reservedSeats) {
+        this.rows = rows;
+        this.reservedSeats = reservedSeats;
+    }
+}
+
+/**
+ * Scores many flights at once. Flights are spread across the common ForkJoinPool,
+ * and large flights are further split by row, so all cores stay busy whether the
+ * batch holds many small planes or a few large ones.
+ * 
+ * @param flights Flights to score
+ * @return Maximum number of families for each flight, in the same order
+ */
+public int[] solutionBatch(java.util.List<Flight> flights) {
+    int[] results = new int[flights.size()];
+    java.util.stream.IntStream.range(0, flights.size()).parallel().forEach(i -> {
+        Flight flight = flights.get(i);
+        results[i] = solutionParallel(flight.rows, flight.reservedSeats);
+    });
+    return results;
+}
+
+/**
+ * Tests the parallel and batch modes against the sequential solution.
+ */
+public static void testParallelSolution() {
+    Solution solver = new Solution();
+    java.util.Random random = new java.util.Random(7);
+    String letters = "ABCDEFGHJK";
+    
+    java.util.List<Flight> flights = new java.util.ArrayList<>();
+    int[] sizes = {1, 100, PARALLEL_ROW_THRESHOLD - 1, PARALLEL_ROW_THRESHOLD * 5 + 3};
+    for (int N : sizes) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < N; k++) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(1 + random.nextInt(N)).append(letters.charAt(random.nextInt(letters.length())));
+        }
+        flights.add(new Flight(N, sb.toString()));
+    }
+    
+    int[] batchResults = solver.solutionBatch(flights);
+    boolean passed = true;
+    for (int i = 0; i < flights.size(); i++) {
+        Flight flight = flights.get(i);
+        int expected = solver.solution(flight.rows, flight.reservedSeats);
+        int actual = solver.solutionParallel(flight.rows, flight.reservedSeats);
+        if (actual != expected || batchResults[i] != expected) {
+            System.out.println("  ERROR: N = " + flight.rows + ", expected " + expected
+                               + " but got " + actual + " (batch: " + batchResults[i] + ")");
+            passed = false;
+        }
+    }
+    System.out.println("Parallel and batch modes: " + (passed ? "PASSED" : "FAILED"));
+}
+
+/**
+ * Describes the seats of one cabin row: seat letters, aisle positions and family size.
+ * On construction every possible occupancy mask of a row is enumerated and the best
+ * family count for each mask is stored in a lookup table (1024 entries for 10 seats),
+ * so counting a row is a single table lookup.
+ * 
+ * A family occupies groupSize adjacent seats. It may not span an aisle, except when
+ * the aisle splits it exactly in half (e.g., B,C + D,E in the standard layout).
+ */
+static class CabinLayout {
+    // Standard 3-4-3 cabin used by solution(): A B C | D E F G | H J K
+    static final CabinLayout STANDARD = parse("ABC DEFG HJK", 4);
+    // 3-3 narrowbody cabin: A B C | D E F
+    static final CabinLayout NARROWBODY = parse("ABC DEF", 4);
+    
+    // Largest row supported, keeping the lookup table at 64K entries
+    private static final int MAX_SEATS = 16;
+    
+    final String seatLetters;
+    final int groupSize;
+    private final int[] columnByLetter = new int[128];
+    private final int[] placements;
+    private final byte[] familiesByMask;
+    
+    /**
+     * Creates a layout.
+     * 
+     * @param seatLetters Seat letters from left to right (e.g., "ABCDEFGHJK")
+     * @param aislesAfter Column indices that have an aisle directly to their right
+     * @param groupSize Number of people in a family
+     */
+    CabinLayout(String seatLetters, int[] aislesAfter, int groupSize) {
+        int seats = seatLetters.length();
+        if (seats == 0 || seats > MAX_SEATS) {
+            throw new IllegalArgumentException("A row must have between 1 and " + MAX_SEATS + " seats: " + seatLetters);
+        }
+        if (groupSize < 1 || groupSize > seats) {
+            throw new IllegalArgumentException("Group size must be between 1 and " + seats + ": " + groupSize);
+        }
+        this.seatLetters = seatLetters;
+        this.groupSize = groupSize;
+        
+        java.util.Arrays.fill(columnByLetter, -1);
+        for (int col = 0; col < seats; col++) {
+            char seatLetter = seatLetters.charAt(col);
+            if (seatLetter >= 128 || columnByLetter[seatLetter] >= 0) {
+                throw new IllegalArgumentException("Seat letters must be distinct ASCII characters: " + seatLetters);
+            }
+            columnByLetter[seatLetter] = col;
+        }
+        
+        boolean[] isAisleAfter = new boolean[seats];
+        for (int col : aislesAfter) {
+            if (col < 0 || col >= seats - 1) {
+                throw new IllegalArgumentException("Aisle must be between two seats: " + col);
+            }
+            isAisleAfter[col] = true;
+        }
+        
+        this.placements = compilePlacements(seats, isAisleAfter, groupSize);
+        this.familiesByMask = compileTable(seats, placements);
+    }
+    
+    /**
+     * Creates a layout from a row picture in which spaces mark aisles (e.g., "ABC DEFG HJK").
+     */
+    static CabinLayout parse(String row, int groupSize) {
+        StringBuilder seatLetters = new StringBuilder();
+        java.util.List<Integer> aisles = new java.util.ArrayList<>();
+        for (int i = 0; i < row.length(); i++) {
+            if (row.charAt(i) == ' ') {
+                if (seatLetters.length() > 0) {
+                    aisles.add(seatLetters.length() - 1);
+                }
+            } else {
+                seatLetters.append(row.charAt(i));
+            }
+        }
+        return new CabinLayout(seatLetters.toString(), aisles.stream().mapToInt(Integer::intValue).toArray(), groupSize);
+    }
+    
+    /**
+     * Returns the column of a seat letter, or -1 if the letter is not in this layout.
+     */
+    int seatColumn(char seatLetter) {
+        return seatLetter < 128 ? columnByLetter[seatLetter] : -1;
+    }
+    
+    /**
+     * Returns the maximum number of families that fit in a row with the given occupancy mask.
+     */
+    int familiesInRow(int mask) {
+        return familiesByMask[mask];
+    }
+    
+    /**
+     * Returns the masks of all seat blocks a single family may occupy.
+     */
+    int[] placements() {
+        return placements.clone();
+    }
+    
+    /**
+     * Maximizes the number of families for a plane of N rows with this layout.
+     * 
+     * @param N Number of rows in the airplane
+     * @param S String containing reserved seats (e.g., "1A 3C 2B")
+     * @return Maximum number of families that can be seated
+     */
+    int countFamilies(int N, CharSequence S) {
+        int[] rowMasks = new int[N];
+        if (S != null) {
+            parseReservations(S, N, rowMasks, this);
+        }
+        
+        int totalFamilies = 0;
+        for (int row = 0; row < N; row++) {
+            totalFamilies += familiesByMask[rowMasks[row]];
+        }
+        return totalFamilies;
+    }
+    
+    /**
+     * Lists every block of groupSize adjacent seats that contains no aisle, or exactly
+     * one aisle that splits it in half.
+     */
+    private static int[] compilePlacements(int seats, boolean[] isAisleAfter, int groupSize) {
+        java.util.List<Integer> valid = new java.util.ArrayList<>();
+        for (int start = 0; start + groupSize <= seats; start++) {
+            int aisleCount = 0;
+            int aisleOffset = -1;
+            for (int col = start; col < start + groupSize - 1; col++) {
+                if (isAisleAfter[col]) {
+                    aisleCount++;
+                    aisleOffset = col - start + 1; // Seats to the left of the aisle
+                }
+            }
+            if (aisleCount == 0 || (aisleCount == 1 && aisleOffset * 2 == groupSize)) {
+                valid.add(((1 << groupSize) - 1) << start);
+            }
+        }
+        return valid.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    /**
+     * Computes the best family count for every occupancy mask. Masks are visited from
+     * fullest to emptiest, so placing one family always refers to a mask already solved.
+     */
+    private static byte[] compileTable(int seats, int[] placements) {
+        byte[] table = new byte[1 << seats];
+        for (int mask = table.length - 1; mask >= 0; mask--) {
+            int best = 0;
+            for (int placement : placements) {
+                if ((mask & placement) == 0) {
+                    best = Math.max(best, 1 + table[mask | placement]);
+                }
+            }
+            table[mask] = (byte) best;
+        }
+        return table;
+    }
+}
+
+/**
+ * Counts the families using a configurable cabin layout and its precompiled table.
+ * 
+ * @param N Number of rows in the airplane
+ * @param S String containing reserved seats (e.g., "1A 3C 2B")
+ * @param layout The cabin layout
+ * @return Maximum number of families that can be seated
+ */
+public int solutionWithLayout(int N, String S, CabinLayout layout) {
+    return layout.countFamilies(N, S);
+}
+
+/**
+ * Tests the cabin layouts: the standard table must agree with the hard-coded rules
+ * for every possible row, and the narrowbody layout must only allow its split block.
+ */
+public static void testCabinLayout() {
+    Solution solver = new Solution();
+    
+    boolean tablePassed = true;
+    for (int mask = 0; mask < 1 << 10; mask++) {
+        if (CabinLayout.STANDARD.familiesInRow(mask) != familiesInRow(mask)) {
+            System.out.println("  ERROR: mask " + Integer.toBinaryString(mask) + " expected "
+                               + familiesInRow(mask) + " but got " + CabinLayout.STANDARD.familiesInRow(mask));
+            tablePassed = false;
+        }
+    }
+    tablePassed &= solver.solutionWithLayout(2, "1A 2F 1C", CabinLayout.STANDARD) == 2;
+    System.out.println("Standard layout table: " + (tablePassed ? "PASSED" : "FAILED"));
+    
+    // Narrowbody A B C | D E F: only B,C + D,E fits a family
+    boolean narrowPassed = CabinLayout.NARROWBODY.placements().length == 1
+            && solver.solutionWithLayout(3, "1A 2C 3F", CabinLayout.NARROWBODY) == 2;
+    System.out.println("Narrowbody layout: " + (narrowPassed ? "PASSED" : "FAILED"));
+}
+
+/**
+ * Long-lived seat inventory that keeps a running count of the maximum number of
+ * 4-person families as seats are reserved and cancelled.
+ * Each update re-evaluates only the row that changed, in O(1). Row masks are updated
+ * with compare-and-set, so concurrent writers never take a lock, and the family
+ * capacity is read from a single counter.
+ */
+static class SeatInventory {
+    private final java.util.concurrent.atomic.AtomicIntegerArray rowMasks;
+    private final java.util.concurrent.atomic.AtomicLong familyCapacity;
+    
+    /**
+     * Creates an inventory of N empty rows.
+     */
+    SeatInventory(int N) {
+        this.rowMasks = new java.util.concurrent.atomic.AtomicIntegerArray(N);
+        this.familyCapacity = new java.util.concurrent.atomic.AtomicLong(2L * N);
+    }
+    
+    /**
+     * Creates an inventory of N rows with the given seats (e.g., "1A 3C 2B") already reserved.
+     */
+    SeatInventory(int N, CharSequence S) {
+        int[] initialMasks = new int[N];
+        parseReservations(S, N, initialMasks);
+        
+        long capacity = 0;
+        for (int row = 0; row < N; row++) {
+            capacity += familiesInRow(initialMasks[row]);
+        }
+        this.rowMasks = new java.util.concurrent.atomic.AtomicIntegerArray(initialMasks);
+        this.familyCapacity = new java.util.concurrent.atomic.AtomicLong(capacity);
+    }
+    
+    /**
+     * Reserves a seat.
+     * 
+     * @param row Row number (1-indexed)
+     * @param seatLetter Seat letter (A-H, J, K)
+     * @return true if the seat was free and is now reserved, false if it was already reserved
+     */
+    boolean reserve(int row, char seatLetter) {
+        return update(row, seatLetter, true);
+    }
+    
+    /**
+     * Cancels a seat reservation.
+     * 
+     * @param row Row number (1-indexed)
+     * @param seatLetter Seat letter (A-H, J, K)
+     * @return true if the seat was reserved and is now free, false if it was already free
+     */
+    boolean cancel(int row, char seatLetter) {
+        return update(row, seatLetter, false);
+    }
+    
+    /**
+     * Returns the maximum number of 4-person families that can currently be seated.
+     */
+    long familyCapacity() {
+        return familyCapacity.get();
+    }
+    
+    private boolean update(int row, char seatLetter, boolean occupy) {
+        if (row < 1 || row > rowMasks.length()) {
+            throw new IllegalArgumentException("Row must be between 1 and " + rowMasks.length() + ": " + row);
+        }
+        int col = CabinLayout.STANDARD.seatColumn(seatLetter);
+        if (col < 0) {
+            throw new IllegalArgumentException("Seat letter must be one of A-H, J, K: " + seatLetter);
+        }
+        
+        int index = row - 1;
+        int seatBit = 1 << col;
+        while (true) {
+            int oldMask = rowMasks.get(index);
+            boolean isOccupied = (oldMask & seatBit) != 0;
+            if (isOccupied == occupy) {
+                return false; // Nothing to change
+            }
+            
+            int newMask = oldMask ^ seatBit;
+            if (rowMasks.compareAndSet(index, oldMask, newMask)) {
+                // Only the winning transition for this row adjusts the total
+                int delta = familiesInRow(newMask) - familiesInRow(oldMask);
+                if (delta != 0) {
+                    familyCapacity.addAndGet(delta);
+                }
+                return true;
+            }
+        }
+    }
+}
+
+/**
+ * Tests the seat inventory against the batch solution, including concurrent writers.
+ */
+public static void testSeatInventory() throws InterruptedException {
+    Solution solver = new Solution();
+    
+    SeatInventory inventory = new SeatInventory(2, "1A 2F 1C");
+    boolean passed = inventory.familyCapacity() == solver.solution(2, "1A 2F 1C");
+    
+    // Row 2 already has F taken, so reserving B blocks its last family placement
+    passed &= inventory.reserve(2, 'B') && inventory.familyCapacity() == 1;
+    passed &= !inventory.reserve(2, 'B');
+    passed &= inventory.cancel(2, 'B') && inventory.familyCapacity() == 2;
+    passed &= !inventory.cancel(2, 'B');
+    System.out.println("Seat inventory updates: " + (passed ? "PASSED" : "FAILED"));
+    
+    // Concurrent writers: every thread reserves then cancels the same seats
+    int N = 1000;
+    SeatInventory shared = new SeatInventory(N);
+    Thread[] writers = new Thread[4];
+    for (int t = 0; t < writers.length; t++) {
+        writers[t] = new Thread(() -> {
+            for (int round = 0; round < 100; round++) {
+                for (int row = 1; row <= N; row++) {
+                    shared.reserve(row, "ABCDEFGHJK".charAt((row + round) % 10));
+                }
+                for (int row = 1; row <= N; row++) {
+                    shared.cancel(row, "ABCDEFGHJK".charAt((row + round) % 10));
+                }
+            }
+        });
+        writers[t].start();
+    }
+    for (Thread writer : writers) {
+        writer.join();
+    }
+    boolean concurrentPassed = shared.familyCapacity() == 2L * N;
+    System.out.println("Seat inventory concurrent writers: " + (concurrentPassed ? "PASSED" : "FAILED")
+                       + " (Expected: " + (2L * N) + ", Got: " + shared.familyCapacity() + ")");
+}
+
+/**
+ * Compares heap use and time per row of the boolean grid and the bit-packed engine
+ * on a large, randomly reserved plane.
+ */
+public static void benchmarkSeatMaps() {
+    Solution solver = new Solution();
+    int N = 2_000_000;
+    
+    // Heap used by each seat map, measured around its allocation before any other
+    // large object exists, so no unrelated garbage is freed between the readings
+    long gridBytes = measureHeapBytes(() -> new boolean[N][10]);
+    long packedBytes = measureHeapBytes(() -> new int[N]);
+    
+    // Reserve roughly one seat in every row
+    java.util.Random random = new java.util.Random(42);
+    StringBuilder sb = new StringBuilder();
+    String letters = "ABCDEFGHJK";
+    for (int row = 1; row <= N; row++) {
+        if (sb.length() > 0) {
+            sb.append(' ');
+        }
+        sb.append(row).append(letters.charAt(random.nextInt(letters.length())));
+    }
+    String S = sb.toString();
+    
+    // Warm up both paths before timing
+    for (int i = 0; i < 3; i++) {
+        solver.solution(N, S);
+        solver.solutionBitPacked(N, S);
+    }
+    
+    long startTime = System.nanoTime();
+    int gridResult = solver.solution(N, S);
+    long gridTime = System.nanoTime() - startTime;
+    
+    startTime = System.nanoTime();
+    int packedResult = solver.solutionBitPacked(N, S);
+    long packedTime = System.nanoTime() - startTime;
+    
+    System.out.println("Rows: " + N + ", results match: " + (gridResult == packedResult));
+    System.out.println("boolean grid: " + (gridTime / N) + " ns/row, " + (gridBytes >> 20) + " MB measured");
+    System.out.println("bit-packed:   " + (packedTime / N) + " ns/row, " + (packedBytes >> 20) + " MB measured");
+}
+
+/**
+ * Heap growth (totalMemory - freeMemory) across one allocation, after a GC on each side.
+ * The result is kept reachable until the second reading.
+ */
+private static long measureHeapBytes(java.util.function.Supplier<Object> allocation) {
+    Runtime runtime = Runtime.getRuntime();
+    System.gc();
+    long before = runtime.totalMemory() - runtime.freeMemory();
+    Object allocated = allocation.get();
+    System.gc();
+    long after = runtime.totalMemory() - runtime.freeMemory();
+    java.lang.ref.Reference.reachabilityFence(allocated);
+    return Math.max(0, after - before);
+}
+
+/**
+ * Runs a solution method, returning -1 if it rejects its input with an IllegalArgumentException.
+ * Any other exception is a failure and propagates.
+ */
+private static int resultOrRejected(java.util.function.IntSupplier method) {
+    try {
+        return method.getAsInt();
+    } catch (IllegalArgumentException e) {
+        System.out.println("  Rejected: " + e.getMessage());
+        return -1;
+    }
+}
+
 /**
  * Tests the solution with various test cases.
  * Simply call this method to run all tests and verify the solution.
@@ -110,7 +758,7 @@ public static void testSolution() {
         {3, 3, 3},     // Test case 3: One seat occupied in each row
         {2, 0, 4},     // Test case 4: Multiple seats occupied in same row
         {1, 1, 5},     // Test case 5: Edge case - specific arrangements
-        {2, 4, 6}      // Test case 6: Invalid seat specifications
+        {2, -1, 6}     // Test case 6: Invalid seat specifications (-1 = must be rejected)
     };
     
     // Reserved seats for each test case
@@ -131,8 +779,9 @@ public static void testSolution() {
         int testCaseNum = testCases[i][2];
         String S = reservedSeats[i];
         
-        int actual = solver.solution(N, S);
-        boolean passed = (actual == expected);
+        int actual = resultOrRejected(() -> solver.solution(N, S));
+        int actualBitPacked = resultOrRejected(() -> solver.solutionBitPacked(N, S));
+        boolean passed = (actual == expected) && (actualBitPacked == expected);
         
         System.out.println("Test Case " + testCaseNum + ": " + 
                            (passed ? "PASSED" : "FAILED") + 
@@ -140,7 +789,8 @@ public static void testSolution() {
         System.out.println("  N = " + N + ", Reserved Seats = \"" + S + "\"");
         
         if (!passed) {
-            System.out.println("  ERROR: Expected " + expected + " but got " + actual);
+            System.out.println("  ERROR: Expected " + expected + " but got " + actual
+                               + " (bit-packed: " + actualBitPacked + ")");
         }
         
         if (passed) {
@@ -44,4 +44,400 @@ public int solution(int[] A) {
     }
     
     return slices;
+}
+
+/**
+ * Ways of computing the slice count, trading memory for speed.
+ */
+enum SliceStrategy {
+    // Sorted copy plus a boxed value-to-position map (the original approach)
+    HASH_MAP,
+    // Primitive sort of (value, index) keys; O(n log n) time, one long[] of scratch
+    RANK_SORT,
+    // Prefix max against suffix min; O(n) time, one int[] of scratch, no sort
+    PREFIX_SUFFIX
+}
+
+/**
+ * Determines the maximum number of slices using the chosen strategy.
+ * All strategies return the same answer for distinct values. RANK_SORT and
+ * PREFIX_SUFFIX also handle repeated values; HASH_MAP does not.
+ * 
+ * @param A An array of integers, distinct for HASH_MAP
+ * @param strategy How to compute the answer
+ * @return The maximum number of possible slices
+ */
+public int solution(int[] A, SliceStrategy strategy) {
+    switch (strategy) {
+        case RANK_SORT:
+            return solutionRankSort(A);
+        case PREFIX_SUFFIX:
+            return solutionPrefixSuffix(A);
+        default:
+            return solution(A);
+    }
+}
+
+/**
+ * Same as solution(A), but derives each element's sorted position with a primitive
+ * sort instead of a HashMap, so no element is boxed.
+ * Each element is packed into a long as (value << 32 | index); sorting those longs
+ * orders by value, and the low 32 bits then give the original index of each rank.
+ */
+public int solutionRankSort(int[] A) {
+    if (A == null || A.length == 0) {
+        return 0;
+    }
+    
+    int n = A.length;
+    
+    long[] keys = new long[n];
+    for (int i = 0; i < n; i++) {
+        keys[i] = ((long) A[i] << 32) | i;
+    }
+    Arrays.sort(keys);
+    
+    // rank[i] = position of A[i] in the sorted array
+    int[] rank = new int[n];
+    for (int position = 0; position < n; position++) {
+        rank[(int) keys[position]] = position;
+    }
+    
+    int slices = 0;
+    int maxPositionSeen = -1;
+    for (int i = 0; i < n; i++) {
+        maxPositionSeen = Math.max(maxPositionSeen, rank[i]);
+        if (maxPositionSeen == i) {
+            slices++;
+        }
+    }
+    
+    return slices;
+}
+
+/**
+ * Same as solution(A) in O(n) time without sorting.
+ * A slice can end after index i exactly when no element up to i is larger than any
+ * element after i, i.e. when the prefix max is at most the suffix min.
+ */
+public int solutionPrefixSuffix(int[] A) {
+    if (A == null || A.length == 0) {
+        return 0;
+    }
+    
+    int n = A.length;
+    
+    // suffixMin[i] = minimum of A[i..n-1]
+    int[] suffixMin = new int[n];
+    suffixMin[n - 1] = A[n - 1];
+    for (int i = n - 2; i >= 0; i--) {
+        suffixMin[i] = Math.min(A[i], suffixMin[i + 1]);
+    }
+    
+    int slices = 1; // The last slice always ends at the end of the array
+    int prefixMax = Integer.MIN_VALUE;
+    for (int i = 0; i < n - 1; i++) {
+        prefixMax = Math.max(prefixMax, A[i]);
+        if (prefixMax <= suffixMin[i + 1]) {
+            slices++;
+        }
+    }
+    
+    return slices;
+}
+
+/**
+ * Tests every strategy against solution(A) on random arrays of distinct values, and
+ * RANK_SORT against PREFIX_SUFFIX on arrays with repeated values.
+ */
+public static void testStrategies() {
+    Solution solver = new Solution();
+    java.util.Random random = new java.util.Random(3);
+    boolean passed = true;
+    
+    for (int trial = 0; trial < 5000; trial++) {
+        int n = random.nextInt(40);
+        
+        // Distinct values: a shuffled range, partly sorted so there are several slices
+        int[] distinct = new int[n];
+        for (int i = 0; i < n; i++) {
+            distinct[i] = i * 7 - 100;
+        }
+        for (int i = 0; i < n; i++) {
+            int j = Math.min(n - 1, i + random.nextInt(4));
+            int swap = distinct[i];
+            distinct[i] = distinct[j];
+            distinct[j] = swap;
+        }
+        int expected = solver.solution(distinct);
+        for (SliceStrategy strategy : SliceStrategy.values()) {
+            passed &= solver.solution(distinct, strategy) == expected;
+        }
+        
+        // Repeated values
+        int[] repeated = new int[n];
+        for (int i = 0; i < n; i++) {
+            repeated[i] = random.nextInt(5);
+        }
+        passed &= solver.solution(repeated, SliceStrategy.RANK_SORT)
+                == solver.solution(repeated, SliceStrategy.PREFIX_SUFFIX);
+    }
+    
+    passed &= solver.solution(new int[]{1, 1}, SliceStrategy.RANK_SORT) == 2
+            && solver.solution(new int[]{1, 1}, SliceStrategy.PREFIX_SUFFIX) == 2;
+    System.out.println("Slice strategies: " + (passed ? "PASSED" : "FAILED"));
+}
+
+/**
+ * Streaming variant of the slice count for input that is too large to clone and sort.
+ * Values are fed one at a time. The counter keeps a stack of pending slices with their
+ * maxima: a new value merges every pending slice whose max is greater than it. The
+ * remaining slices are in increasing order of max and each one sorts independently.
+ * 
+ * A pending slice is final once no future value can merge it. That is provable when
+ * the caller knows a lower bound for all future values (a watermark, e.g. the smallest
+ * head of the remaining sorted runs in a merge), or when the stream ends. Only the
+ * pending slices are held in memory, never the values themselves.
+ */
+static class StreamingSliceCounter {
+    private final java.util.function.LongConsumer onBoundary;
+    
+    // Pending slices, oldest first, in [head, tail): their max and end position (exclusive)
+    private int[] pendingMax = new int[16];
+    private long[] pendingEnd = new long[16];
+    private int head = 0;
+    private int tail = 0;
+    
+    private long position = 0;
+    private long slices = 0;
+    private int peakPending = 0;
+    
+    /**
+     * @param onBoundary Called with the end position (exclusive) of each slice as soon as it is final
+     */
+    StreamingSliceCounter(java.util.function.LongConsumer onBoundary) {
+        this.onBoundary = onBoundary;
+    }
+    
+    /**
+     * Feeds the next value of the stream.
+     */
+    void accept(int value) {
+        int mergedMax = value;
+        while (tail > head && pendingMax[tail - 1] > value) {
+            mergedMax = Math.max(mergedMax, pendingMax[tail - 1]);
+            tail--;
+        }
+        
+        if (tail == pendingMax.length) {
+            makeRoom();
+        }
+        pendingMax[tail] = mergedMax;
+        pendingEnd[tail] = ++position;
+        tail++;
+        
+        peakPending = Math.max(peakPending, tail - head);
+    }
+    
+    /**
+     * Declares that no future value is below lowerBound, emitting every pending
+     * slice that can no longer be merged.
+     */
+    void advanceWatermark(int lowerBound) {
+        while (tail > head && pendingMax[head] <= lowerBound) {
+            emit(head++);
+        }
+    }
+    
+    /**
+     * Ends the stream, emitting all pending slices.
+     * 
+     * @return The total number of slices
+     */
+    long finish() {
+        while (tail > head) {
+            emit(head++);
+        }
+        return slices;
+    }
+    
+    /** Number of slices emitted so far. */
+    long slices() {
+        return slices;
+    }
+    
+    /** Largest number of pending slices held at once. */
+    int peakPending() {
+        return peakPending;
+    }
+    
+    /** Peak memory used by the pending-slice stack, in bytes. */
+    long peakStateBytes() {
+        return (long) peakPending * (Integer.BYTES + Long.BYTES);
+    }
+    
+    private void emit(int index) {
+        slices++;
+        onBoundary.accept(pendingEnd[index]);
+    }
+    
+    /**
+     * Reclaims the space of emitted slices, growing the arrays only if they are still full.
+     */
+    private void makeRoom() {
+        int pending = tail - head;
+        if (pending * 2 > pendingMax.length) {
+            pendingMax = Arrays.copyOf(pendingMax, pendingMax.length * 2);
+            pendingEnd = Arrays.copyOf(pendingEnd, pendingEnd.length * 2);
+        }
+        System.arraycopy(pendingMax, head, pendingMax, 0, pending);
+        System.arraycopy(pendingEnd, head, pendingEnd, 0, pending);
+        head = 0;
+        tail = pending;
+    }
+    
+    /**
+     * Feeds the next value and, every watermarkInterval values, advances the watermark
+     * to the lower bound the caller gives for all values after the current position.
+     */
+    private void accept(int value, int watermarkInterval, java.util.function.LongToIntFunction lowerBoundAfter) {
+        accept(value);
+        if (position % watermarkInterval == 0) {
+            advanceWatermark(lowerBoundAfter.applyAsInt(position));
+        }
+    }
+    
+    private static void checkWatermarkInterval(int watermarkInterval) {
+        if (watermarkInterval <= 0) {
+            throw new IllegalArgumentException("Watermark interval must be positive: " + watermarkInterval);
+        }
+    }
+    
+    /**
+     * Counts the slices of an IntStream. Every watermarkInterval values, lowerBoundAfter is
+     * asked for a lower bound of all values after the given number of values read; slices
+     * that bound proves final are emitted then, so the pending state stays bounded by how
+     * far behind the stream the watermark lags. Pass Integer.MIN_VALUE when nothing is
+     * known, in which case slices are only emitted at the end.
+     * 
+     * @param values The values, consumed in encounter order
+     * @param watermarkInterval How many values to read between watermark updates
+     * @param lowerBoundAfter Maps the number of values read to a lower bound of the values still to come
+     * @param onBoundary Called with the end position of each slice
+     * @return The counter after the stream has ended, for its statistics
+     */
+    static StreamingSliceCounter count(java.util.stream.IntStream values, int watermarkInterval,
+                                       java.util.function.LongToIntFunction lowerBoundAfter,
+                                       java.util.function.LongConsumer onBoundary) {
+        checkWatermarkInterval(watermarkInterval);
+        StreamingSliceCounter counter = new StreamingSliceCounter(onBoundary);
+        values.sequential().forEachOrdered(value -> counter.accept(value, watermarkInterval, lowerBoundAfter));
+        counter.finish();
+        return counter;
+    }
+    
+    /**
+     * Counts the slices of a file of big-endian 32-bit ints. The file is memory-mapped
+     * one region at a time, so it is never loaded onto the heap. Watermarks work as in
+     * {@link #count(java.util.stream.IntStream, int, java.util.function.LongToIntFunction, java.util.function.LongConsumer)}.
+     * 
+     * @param file The input file
+     * @param watermarkInterval How many values to read between watermark updates
+     * @param lowerBoundAfter Maps the number of values read to a lower bound of the values still to come
+     * @param onBoundary Called with the end position of each slice
+     * @return The counter after the file has been read, for its statistics
+     */
+    static StreamingSliceCounter count(java.nio.file.Path file, int watermarkInterval,
+                                       java.util.function.LongToIntFunction lowerBoundAfter,
+                                       java.util.function.LongConsumer onBoundary) throws java.io.IOException {
+        checkWatermarkInterval(watermarkInterval);
+        // Whole number of ints per mapped region, below the 2 GB mapping limit
+        final long regionBytes = 1L << 30;
+        
+        StreamingSliceCounter counter = new StreamingSliceCounter(onBoundary);
+        try (java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(file)) {
+            long size = channel.size() - channel.size() % Integer.BYTES;
+            for (long offset = 0; offset < size; offset += regionBytes) {
+                long length = Math.min(regionBytes, size - offset);
+                java.nio.IntBuffer region = channel
+                        .map(java.nio.channels.FileChannel.MapMode.READ_ONLY, offset, length)
+                        .asIntBuffer();
+                while (region.hasRemaining()) {
+                    counter.accept(region.get(), watermarkInterval, lowerBoundAfter);
+                }
+            }
+        }
+        counter.finish();
+        return counter;
+    }
+}
+
+/**
+ * Tests the streaming counter against solutionPrefixSuffix, and checks that with a
+ * watermark the pending state stays bounded and slices are emitted before the end.
+ */
+public static void testStreamingSliceCounter() throws java.io.IOException {
+    Solution solver = new Solution();
+    java.util.Random random = new java.util.Random(5);
+    boolean passed = true;
+    
+    // Without a watermark: same count and boundaries as the in-memory solution
+    for (int trial = 0; trial < 2000; trial++) {
+        int[] values = new int[random.nextInt(40)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(10);
+        }
+        List<Long> boundaries = new ArrayList<>();
+        StreamingSliceCounter counter = StreamingSliceCounter.count(
+                Arrays.stream(values), 1, position -> Integer.MIN_VALUE, boundaries::add);
+        passed &= counter.slices() == solver.solutionPrefixSuffix(values)
+                && boundaries.size() == counter.slices();
+        for (int i = 1; i < boundaries.size(); i++) {
+            passed &= boundaries.get(i - 1) < boundaries.get(i);
+        }
+        passed &= values.length == 0 || boundaries.get(boundaries.size() - 1) == values.length;
+    }
+    
+    // 1M values in blocks of 16: block b holds 16b .. 16b+15 shuffled, so after
+    // position p no value is below (p / 16) * 16
+    final int n = 1_000_000;
+    final int block = 16;
+    final int watermarkInterval = 64;
+    int[] values = new int[n];
+    for (int i = 0; i < n; i++) {
+        values[i] = i;
+    }
+    for (int start = 0; start < n; start += block) {
+        for (int i = start + block - 1; i > start; i--) {
+            int j = start + random.nextInt(i - start + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+    java.util.function.LongToIntFunction blockWatermark = position -> (int) (position / block * block);
+    long[] read = new long[1];
+    long[] emittedBeforeEnd = new long[1];
+    StreamingSliceCounter streamed = StreamingSliceCounter.count(
+            Arrays.stream(values).peek(value -> read[0]++), watermarkInterval, blockWatermark,
+            end -> emittedBeforeEnd[0] += read[0] < n ? 1 : 0);
+    int expected = solver.solutionPrefixSuffix(values);
+    passed &= streamed.slices() == expected
+            && streamed.peakPending() <= watermarkInterval
+            && emittedBeforeEnd[0] >= expected - watermarkInterval;
+    
+    // The same values from a file
+    java.nio.file.Path file = java.nio.file.Files.createTempFile("slices", ".bin");
+    try {
+        java.nio.ByteBuffer bytes = java.nio.ByteBuffer.allocate(n * Integer.BYTES);
+        bytes.asIntBuffer().put(values);
+        java.nio.file.Files.write(file, bytes.array());
+        StreamingSliceCounter fromFile = StreamingSliceCounter.count(file, watermarkInterval, blockWatermark, end -> { });
+        passed &= fromFile.slices() == expected && fromFile.peakPending() <= watermarkInterval;
+    } finally {
+        java.nio.file.Files.delete(file);
+    }
+    
+    System.out.println("Streaming slice counter: " + (passed ? "PASSED" : "FAILED")
+                       + " (" + expected + " slices, peak state " + streamed.peakStateBytes() + " bytes)");
 }
\ No newline at end of file
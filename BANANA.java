@@ -1,20 +1,301 @@
 public class MaxBananaCount {
+    // Reusable counter for the classic "BANANA" problem
+    private static final WordFormationCounter BANANA = new WordFormationCounter(false, "BANANA");
+
     public static int maxBananaMoves(String S) {
         if (S == null || S.length() < 6) return 0; // Edge case: null or too short strings
-        
-        // Count the frequency of each character
-        int[] charCounts = new int[26];
-        for (char c : S.toCharArray()) {
-            charCounts[c - 'A']++;
-        }
-        
-        // Calculate the maximum number of times "BANANA" can be formed
-        int countB = charCounts['B' - 'A'];
-        int countA = charCounts['A' - 'A'];
-        int countN = charCounts['N' - 'A'];
-
-        // "BANANA" requires 1 'B', 3 'A's, and 2 'N's
-        return Math.min(countB, Math.min(countA / 3, countN / 2));
+
+        // Letters outside A-Z (lowercase, digits, spaces) are ignored instead of
+        // indexing the histogram with c - 'A'
+        return BANANA.count(S);
+    }
+
+    /**
+     * Counts how many copies of one or more target words can be formed from the letters
+     * of an input. Each letter of the input can be used once.
+     * The letter requirement of every target is precomputed, and inputs are counted into
+     * a 256-bin histogram with a single branch-free loop, so no char[] copy is made.
+     */
+    public static class WordFormationCounter {
+        private final String[] targets;
+        private final boolean ignoreCase;
+        // Letters used by any target, and how many of each letter every target needs
+        private final char[] letters;
+        private final int[][] requirements;
+
+        /**
+         * @param ignoreCase Whether lowercase input letters count as their uppercase form
+         * @param targets The words to form; letters must be ASCII
+         */
+        public WordFormationCounter(boolean ignoreCase, String... targets) {
+            if (targets == null || targets.length == 0) {
+                throw new IllegalArgumentException("At least one target word is required");
+            }
+            this.targets = targets.clone();
+            this.ignoreCase = ignoreCase;
+
+            boolean[] isUsed = new boolean[128];
+            for (String target : targets) {
+                if (target == null || target.isEmpty()) {
+                    throw new IllegalArgumentException("Target words must not be empty");
+                }
+                for (int i = 0; i < target.length(); i++) {
+                    char c = normalize(target.charAt(i));
+                    if (c >= 128) {
+                        throw new IllegalArgumentException("Target words must be ASCII: " + target);
+                    }
+                    isUsed[c] = true;
+                }
+            }
+
+            int letterCount = 0;
+            for (boolean used : isUsed) {
+                if (used) letterCount++;
+            }
+            this.letters = new char[letterCount];
+            int[] slot = new int[128];
+            for (int c = 0, k = 0; c < 128; c++) {
+                if (isUsed[c]) {
+                    slot[c] = k;
+                    letters[k++] = (char) c;
+                }
+            }
+
+            this.requirements = new int[targets.length][letterCount];
+            for (int t = 0; t < targets.length; t++) {
+                for (int i = 0; i < targets[t].length(); i++) {
+                    requirements[t][slot[normalize(targets[t].charAt(i))]]++;
+                }
+            }
+        }
+
+        /**
+         * Returns the maximum number of copies of the first target that can be formed from S.
+         */
+        public int count(CharSequence S) {
+            return copiesOf(0, letterCounts(histogram(S)));
+        }
+
+        /**
+         * Returns the maximum number of copies of the first target that can be formed from
+         * the bytes of an ASCII (or UTF-8) input.
+         */
+        public int count(byte[] input) {
+            return copiesOf(0, letterCounts(histogram(input, 0, input.length)));
+        }
+
+        /**
+         * Returns the maximum number of copies of the first target that can be formed from
+         * a stream, read through one reusable buffer.
+         */
+        public int count(java.io.InputStream input) throws java.io.IOException {
+            int[] histogram = new int[256];
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                addToHistogram(histogram, buffer, 0, read);
+            }
+            return copiesOf(0, letterCounts(histogram));
+        }
+
+        /**
+         * Returns the maximum number of copies of the first target that can be formed from
+         * the bytes of a file, possibly many gigabytes large.
+         * The file is memory-mapped and split into one range per worker. Each worker fills
+         * a private histogram and the histograms are merged at the end, so the count scales
+         * with cores and the input is never materialized as a String.
+         *
+         * @param file An ASCII (or UTF-8) text file
+         * @param parallelism Number of ranges to count concurrently, at least 1
+         * @return The number of copies
+         * @throws IllegalArgumentException if parallelism is less than 1
+         */
+        public long count(java.nio.file.Path file, int parallelism) throws java.io.IOException {
+            long[] histogram = parallelHistogram(file, parallelism);
+
+            long copies = Long.MAX_VALUE;
+            int[] requirement = requirements[0];
+            for (int i = 0; i < letters.length; i++) {
+                if (requirement[i] > 0) {
+                    char c = letters[i];
+                    long available = histogram[c];
+                    if (ignoreCase && c >= 'A' && c <= 'Z') {
+                        available += histogram[c + ('a' - 'A')];
+                    }
+                    copies = Math.min(copies, available / requirement[i]);
+                }
+            }
+            return copies;
+        }
+
+        /**
+         * Builds the byte histogram of a file on the common ForkJoinPool.
+         * Ranges are capped at 1 GB so each one fits in a single mapping.
+         */
+        static long[] parallelHistogram(java.nio.file.Path file, int parallelism) throws java.io.IOException {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+            }
+            final long maxRangeBytes = 1L << 30;
+
+            try (java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(file)) {
+                long size = channel.size();
+                long rangeBytes = Math.max(1, Math.min(maxRangeBytes, (size + parallelism - 1) / parallelism));
+                int ranges = (int) ((size + rangeBytes - 1) / rangeBytes);
+
+                return java.util.stream.IntStream.range(0, ranges).parallel()
+                        .mapToObj(r -> {
+                            long from = r * rangeBytes;
+                            return rangeHistogram(channel, from, Math.min(rangeBytes, size - from));
+                        })
+                        .reduce(new long[256], (merged, partial) -> {
+                            long[] sum = merged.clone();
+                            for (int b = 0; b < 256; b++) {
+                                sum[b] += partial[b];
+                            }
+                            return sum;
+                        });
+            }
+        }
+
+        /**
+         * Counts one mapped range into a private histogram, copying it through a small
+         * reusable buffer so the inner loop runs over a plain byte[].
+         */
+        private static long[] rangeHistogram(java.nio.channels.FileChannel channel, long from, long length) {
+            java.nio.MappedByteBuffer range;
+            try {
+                range = channel.map(java.nio.channels.FileChannel.MapMode.READ_ONLY, from, length);
+            } catch (java.io.IOException e) {
+                throw new java.io.UncheckedIOException(e);
+            }
+
+            int[] histogram = new int[256];
+            byte[] buffer = new byte[64 * 1024];
+            while (range.hasRemaining()) {
+                int chunk = Math.min(buffer.length, range.remaining());
+                range.get(buffer, 0, chunk);
+                addToHistogram(histogram, buffer, 0, chunk);
+            }
+
+            // A range is at most 1 GB, so its int counts cannot overflow
+            long[] counts = new long[256];
+            for (int b = 0; b < 256; b++) {
+                counts[b] = histogram[b];
+            }
+            return counts;
+        }
+
+        /**
+         * Finds how many copies of each target to form so that the total number of words
+         * is maximal. This is a small integer program, solved by branch and bound: each
+         * target's count is tried from its largest feasible value down, and a branch is
+         * cut once even forming every remaining target on its own could not beat the best.
+         *
+         * @param S The input letters
+         * @return The number of copies of each target, in constructor order
+         */
+        public int[] bestCombination(CharSequence S) {
+            return bestCombinationOf(letterCounts(histogram(S)));
+        }
+
+        /**
+         * Same as {@link #bestCombination(CharSequence)} for the bytes of an ASCII (or UTF-8) input.
+         */
+        public int[] bestCombination(byte[] input) {
+            return bestCombinationOf(letterCounts(histogram(input, 0, input.length)));
+        }
+
+        private int[] bestCombinationOf(int[] available) {
+            int[] current = new int[targets.length];
+            int[] best = new int[targets.length];
+            int[] bestTotal = {-1};
+            search(0, available, current, 0, best, bestTotal);
+            return best;
+        }
+
+        private void search(int t, int[] available, int[] current, int total, int[] best, int[] bestTotal) {
+            if (t == targets.length) {
+                if (total > bestTotal[0]) {
+                    bestTotal[0] = total;
+                    System.arraycopy(current, 0, best, 0, current.length);
+                }
+                return;
+            }
+
+            // Bound: the remaining targets, each formed as often as possible on its own
+            int bound = total;
+            for (int k = t; k < targets.length; k++) {
+                bound += copiesOf(k, available);
+            }
+            if (bound <= bestTotal[0]) {
+                return;
+            }
+
+            int[] requirement = requirements[t];
+            for (int copies = copiesOf(t, available); copies >= 0; copies--) {
+                for (int i = 0; i < letters.length; i++) {
+                    available[i] -= copies * requirement[i];
+                }
+                current[t] = copies;
+                search(t + 1, available, current, total + copies, best, bestTotal);
+                for (int i = 0; i < letters.length; i++) {
+                    available[i] += copies * requirement[i];
+                }
+            }
+            current[t] = 0;
+        }
+
+        private int copiesOf(int t, int[] available) {
+            int copies = Integer.MAX_VALUE;
+            int[] requirement = requirements[t];
+            for (int i = 0; i < letters.length; i++) {
+                if (requirement[i] > 0) {
+                    copies = Math.min(copies, available[i] / requirement[i]);
+                }
+            }
+            return copies;
+        }
+
+        /**
+         * Picks the counts of the target letters out of a 256-bin histogram.
+         */
+        private int[] letterCounts(int[] histogram) {
+            int[] available = new int[letters.length];
+            for (int i = 0; i < letters.length; i++) {
+                char c = letters[i];
+                available[i] = histogram[c];
+                if (ignoreCase && c >= 'A' && c <= 'Z') {
+                    available[i] += histogram[c + ('a' - 'A')];
+                }
+            }
+            return available;
+        }
+
+        private char normalize(char c) {
+            return ignoreCase ? Character.toUpperCase(c) : c;
+        }
+
+        private static int[] histogram(CharSequence S) {
+            int[] histogram = new int[256];
+            for (int i = 0, n = S.length(); i < n; i++) {
+                // Characters above 255 cannot be in a target; fold them into an unused bin
+                histogram[Math.min(S.charAt(i), 255)]++;
+            }
+            return histogram;
+        }
+
+        static int[] histogram(byte[] input, int from, int to) {
+            int[] histogram = new int[256];
+            addToHistogram(histogram, input, from, to);
+            return histogram;
+        }
+
+        static void addToHistogram(int[] histogram, byte[] input, int from, int to) {
+            for (int i = from; i < to; i++) {
+                histogram[input[i] & 0xFF]++;
+            }
+        }
     }
 
     public static void main(String[] args) {
@@ -24,5 +305,85 @@ public class MaxBananaCount {
         System.out.println(maxBananaMoves("AAABBBNNN"));    // Output: 0
         System.out.println(maxBananaMoves(""));             // Output: 0
         System.out.println(maxBananaMoves(null));           // Output: 0
+        System.out.println(maxBananaMoves("banana BANANA!")); // Output: 1
+
+        // Any target word, case-insensitive
+        WordFormationCounter balloon = new WordFormationCounter(true, "BALLOON");
+        System.out.println(balloon.count("loonbalxballpoon")); // Output: 2
+
+        // Several targets: two "AN" beat one "BANANA"
+        WordFormationCounter words = new WordFormationCounter(false, "BANANA", "AN");
+        System.out.println(java.util.Arrays.toString(words.bestCombination("BANANA"))); // Output: [0, 2]
+
+        // A file needs at least one worker
+        try {
+            words.count(java.nio.file.Paths.get("BANANA.java"), 0);
+            System.out.println("Parallelism 0: accepted");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Parallelism 0: rejected"); // Output: rejected
+        } catch (java.io.IOException e) {
+            System.out.println("Parallelism 0: " + e.getMessage());
+        }
+
+        // Pass --benchmark to compare the String and memory-mapped file methods
+        if (args.length > 0 && args[0].equals("--benchmark")) {
+            try {
+                benchmark(1L << 20, 100L << 20, 1L << 30);
+            } catch (java.io.IOException e) {
+                System.out.println("Benchmark failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Times maxBananaMoves(String) against the parallel memory-mapped file count on
+     * generated files of the given sizes. Each method is warmed up before it is timed.
+     * The String method is skipped when the heap cannot hold the input as a String.
+     */
+    static void benchmark(long... sizes) throws java.io.IOException {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        java.util.Random random = new java.util.Random(42);
+        byte[] block = new byte[1 << 20];
+        String alphabet = "BANANA xyz\n";
+        for (int i = 0; i < block.length; i++) {
+            block[i] = (byte) alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+
+        for (long size : sizes) {
+            java.nio.file.Path file = java.nio.file.Files.createTempFile("banana", ".txt");
+            try {
+                try (java.io.OutputStream out = new java.io.BufferedOutputStream(java.nio.file.Files.newOutputStream(file))) {
+                    for (long written = 0; written < size; written += block.length) {
+                        out.write(block, 0, (int) Math.min(block.length, size - written));
+                    }
+                }
+
+                System.out.println("Input size: " + (size >> 20) + " MB");
+
+                for (int i = 0; i < 3; i++) {
+                    BANANA.count(file, parallelism);
+                }
+                long startTime = System.nanoTime();
+                long fileResult = BANANA.count(file, parallelism);
+                long fileTime = System.nanoTime() - startTime;
+                System.out.println("  mapped file, " + parallelism + " threads: " + fileResult
+                                   + " in " + (fileTime / 1_000_000) + " ms");
+
+                if (size * 3 > Runtime.getRuntime().maxMemory()) {
+                    System.out.println("  String method: skipped (input does not fit on the heap as a String)");
+                    continue;
+                }
+                String S = new String(java.nio.file.Files.readAllBytes(file), java.nio.charset.StandardCharsets.ISO_8859_1);
+                for (int i = 0; i < 3; i++) {
+                    maxBananaMoves(S);
+                }
+                startTime = System.nanoTime();
+                int stringResult = maxBananaMoves(S);
+                long stringTime = System.nanoTime() - startTime;
+                System.out.println("  String method: " + stringResult + " in " + (stringTime / 1_000_000) + " ms");
+            } finally {
+                java.nio.file.Files.delete(file);
+            }
+        }
     }
 }
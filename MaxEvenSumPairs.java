@@ -39,15 +39,235 @@ public class MaxEvenSumPairs {
         return maxPairs;
     }
 
+    // Runs solution() on many rings packed into one buffer: ring r is
+    // buffer[offsets[r] .. offsets[r + 1]), so offsets has one more entry than there are rings.
+    // The answers match solution() exactly. Instead of a boolean[] per ring, each ring's
+    // parities are packed 64 per long into one scratch buffer shared by the whole batch,
+    // and the greedy pairing is replayed from the positions where the parity changes.
+    public static int[] solutionBatch(int[] buffer, int[] offsets) {
+        int rings = offsets.length - 1;
+        int[] results = new int[rings];
+
+        int longestRing = 0;
+        for (int r = 0; r < rings; r++) {
+            longestRing = Math.max(longestRing, offsets[r + 1] - offsets[r]);
+        }
+        long[] changes = new long[(longestRing >>> 6) + 1];
+
+        for (int r = 0; r < rings; r++) {
+            results[r] = greedyPairs(buffer, offsets[r], offsets[r + 1] - offsets[r], changes);
+        }
+        return results;
+    }
+
+    // Greedy pairing of solution() for the ring buffer[from .. from + n), using bit tricks.
+    // Scanning left to right, a maximal run of L equal-parity elements yields L / 2 pairs and
+    // leaves its last element unused when L is odd. Finally the wrap pair (n-1, 0) forms if
+    // both ends are still unused and have the same parity.
+    private static int greedyPairs(int[] buffer, int from, int n, long[] changes) {
+        if (n < 2) {
+            return 0;
+        }
+
+        // Bit k of changes is set when elements k and k+1 differ in parity
+        int words = (n + 63) >>> 6;
+        for (int w = 0; w < words; w++) {
+            int base = from + (w << 6);
+            int end = Math.min(64, n - (w << 6));
+            long parities = 0;
+            for (int j = 0; j < end; j++) {
+                parities |= (long) (buffer[base + j] & 1) << j;
+            }
+            long nextParities = parities >>> 1;
+            if (end == 64 && w + 1 < words) {
+                nextParities |= (long) (buffer[base + 64] & 1) << 63;
+            }
+            long validEdges = end == 64 ? (w + 1 < words ? -1L : Long.MAX_VALUE) : (1L << (end - 1)) - 1;
+            changes[w] = (parities ^ nextParities) & validEdges;
+        }
+
+        int pairs = 0;
+        int runStart = 0;
+        int firstRunLength = -1;
+        for (int w = 0; w < words; w++) {
+            long bits = changes[w];
+            while (bits != 0) {
+                int runEnd = (w << 6) + Long.numberOfTrailingZeros(bits);
+                int runLength = runEnd - runStart + 1;
+                if (firstRunLength < 0) {
+                    firstRunLength = runLength;
+                }
+                pairs += runLength >>> 1;
+                runStart = runEnd + 1;
+                bits &= bits - 1;
+            }
+        }
+        int lastRunLength = n - runStart;
+        pairs += lastRunLength >>> 1;
+        if (firstRunLength < 0) {
+            firstRunLength = lastRunLength;
+        }
+
+        // Wrap pair: element 0 is free only if its run has length 1, element n-1 only if
+        // its run has odd length, and the two must share a parity
+        boolean isFirstFree = firstRunLength == 1;
+        boolean isLastFree = (lastRunLength & 1) == 1;
+        if (n > 2 && isFirstFree && isLastFree && ((buffer[from] ^ buffer[from + n - 1]) & 1) == 0) {
+            pairs++;
+        }
+        return pairs;
+    }
+
+    // Measures solution() against solutionBatch() in rings per second
+    public static void benchmarkBatch() {
+        java.util.Random random = new java.util.Random(9);
+        int rings = 50_000;
+        int[] offsets = new int[rings + 1];
+        for (int r = 0; r < rings; r++) {
+            offsets[r + 1] = offsets[r] + 2 + random.nextInt(200);
+        }
+        int[] buffer = new int[offsets[rings]];
+        for (int i = 0; i < buffer.length; i++) {
+            buffer[i] = random.nextInt();
+        }
+
+        // Warm up both paths before timing
+        for (int round = 0; round < 3; round++) {
+            solutionBatch(buffer, offsets);
+            for (int r = 0; r < rings; r++) {
+                solution(java.util.Arrays.copyOfRange(buffer, offsets[r], offsets[r + 1]));
+            }
+        }
+
+        long startTime = System.nanoTime();
+        for (int r = 0; r < rings; r++) {
+            solution(java.util.Arrays.copyOfRange(buffer, offsets[r], offsets[r + 1]));
+        }
+        long singleTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        solutionBatch(buffer, offsets);
+        long batchTime = System.nanoTime() - startTime;
+
+        System.out.println("solution():      " + (rings * 1_000_000_000L / Math.max(1, singleTime)) + " rings/s");
+        System.out.println("solutionBatch(): " + (rings * 1_000_000_000L / Math.max(1, batchTime)) + " rings/s");
+    }
+
+    // Decides whether two neighbours may form a pair
+    @FunctionalInterface
+    public interface PairPredicate {
+        boolean test(int a, int b);
+    }
+
+    // Scores a pair of neighbours; pairs with a score <= 0 are never worth forming
+    @FunctionalInterface
+    public interface PairScore {
+        long score(int a, int b);
+    }
+
+    // Maximum number of disjoint neighbouring pairs on the ring that satisfy the predicate
+    public static int maxMatching(int[] A, PairPredicate predicate) {
+        return (int) maxWeightMatching(A, (a, b) -> predicate.test(a, b) ? 1 : 0);
+    }
+
+    // Maximum total score of disjoint neighbouring pairs on the ring.
+    // A matching on a ring either leaves the wrap edge (n-1, 0) unused, which makes it a
+    // matching on the path 0..n-1, or uses it, which leaves the path 1..n-2. Each case is
+    // a path DP that keeps only the last two states, so the solver runs in O(n) time and
+    // O(1) extra memory.
+    public static long maxWeightMatching(int[] A, PairScore pairScore) {
+        int n = A.length;
+        if (n < 2) {
+            return 0;
+        }
+        if (n == 2) {
+            // Both edges of a 2-ring join the same two elements
+            return Math.max(0, Math.max(pairScore.score(A[0], A[1]), pairScore.score(A[1], A[0])));
+        }
+
+        // Case 1: wrap edge unused
+        long withoutWrap = maxWeightPathMatching(A, 0, n - 1, pairScore);
+
+        // Case 2: wrap edge forced, so elements n-1 and 0 are taken
+        long wrapScore = pairScore.score(A[n - 1], A[0]);
+        long withWrap = wrapScore > 0 ? wrapScore + maxWeightPathMatching(A, 1, n - 2, pairScore) : 0;
+
+        return Math.max(withoutWrap, withWrap);
+    }
+
+    // Maximum total score of disjoint pairs on the path A[from..to]
+    private static long maxWeightPathMatching(int[] A, int from, int to, PairScore pairScore) {
+        long beforePrevious = 0; // best for A[from..i-2]
+        long previous = 0;       // best for A[from..i-1]
+        for (int i = from + 1; i <= to; i++) {
+            long pairWithPrevious = Math.max(0, pairScore.score(A[i - 1], A[i]));
+            long current = Math.max(previous, beforePrevious + pairWithPrevious);
+            beforePrevious = previous;
+            previous = current;
+        }
+        return previous;
+    }
+
     // Test function to verify the solution
     public static void testSolution() {
         // Test Case: {1, 3, 5, 2, 4, 7}
         int[] A = {1, 3, 5, 2, 4, 7};
         System.out.println("Test Case: " + (solution(A) == 2 ? "Passed" : "Failed"));
+
+        // Generalized solver with the even-sum predicate: (3-5), (2-4), (7-1)
+        int evenPairs = maxMatching(A, (a, b) -> (a + b) % 2 == 0);
+        System.out.println("Even-sum matching: " + (evenPairs == 3 ? "Passed" : "Failed"));
+
+        // Sum divisible by 3: only (2-4) qualifies
+        int divisiblePairs = maxMatching(A, (a, b) -> (a + b) % 3 == 0);
+        System.out.println("Divisible-by-3 matching: " + (divisiblePairs == 1 ? "Passed" : "Failed"));
+
+        // Difference of at most 2: (1-3) or (3-5), plus (2-4)
+        int closePairs = maxMatching(A, (a, b) -> Math.abs(a - b) <= 2);
+        System.out.println("Small-difference matching: " + (closePairs == 2 ? "Passed" : "Failed"));
+
+        // Weighted by product: (3-5) and (4-7) beat any three pairs
+        long bestScore = maxWeightMatching(A, (a, b) -> (long) a * b);
+        System.out.println("Max-weight matching: " + (bestScore == 15 + 28 ? "Passed" : "Failed"));
+
+        // Wrap edge forced: (9-8) crosses the end of the array
+        long wrapScore = maxWeightMatching(new int[]{8, 1, 1, 9}, (a, b) -> (long) a * b);
+        System.out.println("Wrap-edge matching: " + (wrapScore == 72 + 1 ? "Passed" : "Failed"));
+
+        // Cross-check against the run-based even-sum solver on random rings
+        java.util.Random random = new java.util.Random(5);
+        boolean crossCheckPassed = true;
+        for (int trial = 0; trial < 10000 && crossCheckPassed; trial++) {
+            int[] ring = new int[random.nextInt(20)];
+            for (int i = 0; i < ring.length; i++) {
+                ring[i] = random.nextInt(100);
+            }
+            crossCheckPassed = maxMatching(ring, (a, b) -> (a + b) % 2 == 0)
+                    == CircularArrayPairs.maxEvenSumPairsLinear(ring);
+        }
+        System.out.println("Matching cross-check: " + (crossCheckPassed ? "Passed" : "Failed"));
+
+        // Batch API against solution() on random packed rings, including lengths past 64
+        int rings = 2000;
+        int[] offsets = new int[rings + 1];
+        for (int r = 0; r < rings; r++) {
+            offsets[r + 1] = offsets[r] + random.nextInt(150);
+        }
+        int[] buffer = new int[offsets[rings]];
+        for (int i = 0; i < buffer.length; i++) {
+            buffer[i] = random.nextInt(4) - 2;
+        }
+        int[] batchResults = solutionBatch(buffer, offsets);
+        boolean batchPassed = true;
+        for (int r = 0; r < rings; r++) {
+            batchPassed &= batchResults[r] == solution(java.util.Arrays.copyOfRange(buffer, offsets[r], offsets[r + 1]));
+        }
+        System.out.println("Batch cross-check: " + (batchPassed ? "Passed" : "Failed"));
     }
 
     public static void main(String[] args) {
         testSolution();
+        benchmarkBatch();
     }
 }
 
@@ -100,6 +320,110 @@ public class CircularArrayPairs {
         return maxPairs;
     }
     
+    /**
+     * Finds the same answer as {@link #maxEvenSumPairs(int[])} in O(n) time with no allocation.
+     * Two neighbours have an even sum exactly when they have the same parity, so the ring
+     * splits into maximal runs of equal parity and each run of length L holds L / 2 pairs.
+     * Counting starts at a parity change, so the run that wraps around the end of the
+     * array is counted once as a whole.
+     * 
+     * @param nums The input array of integers
+     * @return The maximum number of pairs with even sums
+     */
+    public static int maxEvenSumPairsLinear(int[] nums) {
+        if (nums == null || nums.length < 2) {
+            return 0;
+        }
+        
+        int n = nums.length;
+        
+        // Find a position where the parity changes from its predecessor
+        int start = -1;
+        for (int i = 0; i < n; i++) {
+            int prev = (i == 0) ? n - 1 : i - 1;
+            if (((nums[i] ^ nums[prev]) & 1) != 0) {
+                start = i;
+                break;
+            }
+        }
+        
+        // Every element has the same parity: the whole ring is one run
+        if (start < 0) {
+            return n / 2;
+        }
+        
+        int pairs = 0;
+        int runLength = 1;
+        for (int k = 1; k < n; k++) {
+            int current = start + k < n ? start + k : start + k - n;
+            int prev = current == 0 ? n - 1 : current - 1;
+            if (((nums[current] ^ nums[prev]) & 1) == 0) {
+                runLength++;
+            } else {
+                pairs += runLength / 2;
+                runLength = 1;
+            }
+        }
+        pairs += runLength / 2;
+        
+        return pairs;
+    }
+    
+    /**
+     * Cross-checks the linear solver against the exhaustive solver on random rings.
+     */
+    public static void testLinearSolution() {
+        java.util.Random random = new java.util.Random(11);
+        boolean passed = true;
+        for (int trial = 0; trial < 10000; trial++) {
+            int[] nums = new int[random.nextInt(20)];
+            for (int i = 0; i < nums.length; i++) {
+                nums[i] = random.nextInt(21) - 10;
+            }
+            int expected = maxEvenSumPairs(nums);
+            int actual = maxEvenSumPairsLinear(nums);
+            if (actual != expected) {
+                System.out.println("Mismatch for " + java.util.Arrays.toString(nums)
+                                   + " - Expected: " + expected + ", Actual: " + actual);
+                passed = false;
+                break;
+            }
+        }
+        System.out.println("Linear solver random cross-check: " + (passed ? "PASS" : "FAIL"));
+    }
+    
+    /**
+     * Times the exhaustive and linear solvers on rings of increasing size.
+     */
+    public static void benchmark() {
+        java.util.Random random = new java.util.Random(3);
+        for (int n : new int[]{1_000, 5_000, 20_000}) {
+            int[] nums = new int[n];
+            for (int i = 0; i < n; i++) {
+                nums[i] = random.nextInt();
+            }
+            
+            // Warm up both solvers before timing
+            maxEvenSumPairs(nums);
+            for (int i = 0; i < 3; i++) {
+                maxEvenSumPairsLinear(nums);
+            }
+            
+            long startTime = System.nanoTime();
+            int exhaustive = maxEvenSumPairs(nums);
+            long exhaustiveTime = System.nanoTime() - startTime;
+            
+            startTime = System.nanoTime();
+            int linear = maxEvenSumPairsLinear(nums);
+            long linearTime = System.nanoTime() - startTime;
+            
+            System.out.println("n = " + n + ": O(n^2) " + (exhaustiveTime / 1_000) + " us, O(n) "
+                               + (linearTime / 1_000) + " us, speedup "
+                               + (exhaustiveTime / Math.max(1, linearTime)) + "x"
+                               + (exhaustive == linear ? "" : " (MISMATCH)"));
+        }
+    }
+    
     /**
      * Tests the solution with various test cases.
      */
@@ -180,6 +504,8 @@ public class CircularArrayPairs {
      */
     public static void main(String[] args) {
         testSolution();
+        testLinearSolution();
+        benchmark();
         
         // Time Complexity Analysis:
         // O(n²) where n is the length of the array.
@@ -190,9 +516,9 @@ public class CircularArrayPairs {
         // Space Complexity Analysis:
         // O(n) for the used[] array to track paired elements.
         
-        // Note: While an O(n) solution would be desirable, for this specific problem
-        // we need to try all possible starting positions to guarantee the optimal answer.
-        // As shown by test case 10, choosing specific starting points like 0 or 1 
-        // doesn't always yield the maximum number of pairs.
+        // Note: As shown by test case 10, choosing specific starting points like 0 or 1 
+        // doesn't always yield the maximum number of pairs. maxEvenSumPairsLinear avoids
+        // trying every start by beginning at a parity change, which gives O(n) time and
+        // O(1) space.
     }
 }
\ No newline at end of file
@@ -26,7 +26,204 @@ public class MinMovesThreeIdenticalLetters {
         return moves;
     }
 
-    public static void main(String[] args) {
+    /**
+     * Streaming version of solution() with constant memory.
+     * Each maximal run of L identical letters needs L / 3 moves, so only the current
+     * letter, the current run length and the moves of finished runs are kept.
+     * moves() can be read at any time and gives the running count for the input so far.
+     */
+    public static class StreamingTripletBreaker {
+        private int currentLetter = -1;
+        private long runLength = 0;
+        private long finishedMoves = 0;
+
+        public void accept(int letter) {
+            if (letter == currentLetter) {
+                runLength++;
+            } else {
+                finishedMoves += runLength / 3;
+                currentLetter = letter;
+                runLength = 1;
+            }
+        }
+
+        public void accept(char[] chars, int from, int to) {
+            for (int i = from; i < to; i++) {
+                accept(chars[i]);
+            }
+        }
+
+        public void accept(java.nio.ByteBuffer bytes) {
+            while (bytes.hasRemaining()) {
+                accept(bytes.get());
+            }
+        }
+
+        /** Moves needed for everything accepted so far. */
+        public long moves() {
+            return finishedMoves + runLength / 3;
+        }
+    }
+
+    /**
+     * Counts the moves for a character stream through one reusable buffer.
+     */
+    public static long solution(java.io.Reader reader) throws java.io.IOException {
+        StreamingTripletBreaker breaker = new StreamingTripletBreaker();
+        char[] buffer = new char[8192];
+        int read;
+        while ((read = reader.read(buffer)) > 0) {
+            breaker.accept(buffer, 0, read);
+        }
+        return breaker.moves();
+    }
+
+    /**
+     * Counts the moves for the remaining bytes of a buffer (one letter per byte).
+     */
+    public static long solution(java.nio.ByteBuffer bytes) {
+        StreamingTripletBreaker breaker = new StreamingTripletBreaker();
+        breaker.accept(bytes.duplicate());
+        return breaker.moves();
+    }
+
+    /**
+     * Counts the moves for a file of one-byte letters. The file is memory-mapped in
+     * chunks that are scanned in parallel. Each chunk reports its leading and trailing
+     * runs separately so runs that cross a chunk boundary are stitched together when
+     * the chunk summaries are combined in order.
+     *
+     * @param file The input file
+     * @param chunkBytes Size of each chunk (at most 1 GB)
+     * @return The minimum number of moves
+     */
+    public static long solution(java.nio.file.Path file, int chunkBytes) throws java.io.IOException {
+        if (chunkBytes <= 0 || chunkBytes > (1 << 30)) {
+            throw new IllegalArgumentException("Chunk size must be between 1 byte and 1 GB: " + chunkBytes);
+        }
+
+        try (java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(file)) {
+            long size = channel.size();
+            int chunks = (int) ((size + chunkBytes - 1) / chunkBytes);
+
+            return java.util.stream.IntStream.range(0, chunks).parallel()
+                    .mapToObj(c -> {
+                        long from = (long) c * chunkBytes;
+                        try {
+                            return RunSummary.of(channel.map(java.nio.channels.FileChannel.MapMode.READ_ONLY,
+                                    from, Math.min(chunkBytes, size - from)));
+                        } catch (java.io.IOException e) {
+                            throw new java.io.UncheckedIOException(e);
+                        }
+                    })
+                    .reduce(RunSummary.EMPTY, RunSummary::combine)
+                    .moves();
+        }
+    }
+
+    /**
+     * Summary of a chunk: its first and last runs, which may continue into the
+     * neighbouring chunks, and the moves of all runs strictly inside it.
+     * combine() is associative, so chunks can be summarized in any order and reduced.
+     */
+    static final class RunSummary {
+        static final RunSummary EMPTY = new RunSummary(-1, 0, -1, 0, 0, 0);
+
+        final int firstLetter;
+        final long prefixRun;
+        final int lastLetter;
+        final long suffixRun;
+        final long innerMoves;
+        final long length;
+
+        RunSummary(int firstLetter, long prefixRun, int lastLetter, long suffixRun, long innerMoves, long length) {
+            this.firstLetter = firstLetter;
+            this.prefixRun = prefixRun;
+            this.lastLetter = lastLetter;
+            this.suffixRun = suffixRun;
+            this.innerMoves = innerMoves;
+            this.length = length;
+        }
+
+        static RunSummary of(java.nio.ByteBuffer bytes) {
+            int length = bytes.remaining();
+            if (length == 0) {
+                return EMPTY;
+            }
+
+            int firstLetter = bytes.get(0);
+            int prefixRun = 1;
+            while (prefixRun < length && bytes.get(prefixRun) == firstLetter) {
+                prefixRun++;
+            }
+            if (prefixRun == length) {
+                return new RunSummary(firstLetter, length, firstLetter, length, 0, length);
+            }
+
+            int lastLetter = bytes.get(length - 1);
+            int suffixStart = length - 1;
+            while (bytes.get(suffixStart - 1) == lastLetter) {
+                suffixStart--;
+            }
+
+            StreamingTripletBreaker inner = new StreamingTripletBreaker();
+            for (int i = prefixRun; i < suffixStart; i++) {
+                inner.accept(bytes.get(i));
+            }
+            return new RunSummary(firstLetter, prefixRun, lastLetter, length - suffixStart, inner.moves(), length);
+        }
+
+        boolean isSingleRun() {
+            return prefixRun == length;
+        }
+
+        RunSummary combine(RunSummary next) {
+            if (length == 0) {
+                return next;
+            }
+            if (next.length == 0) {
+                return this;
+            }
+
+            long totalLength = length + next.length;
+            if (lastLetter == next.firstLetter) {
+                if (isSingleRun() && next.isSingleRun()) {
+                    return new RunSummary(firstLetter, totalLength, firstLetter, totalLength, 0, totalLength);
+                }
+                if (isSingleRun()) {
+                    return new RunSummary(firstLetter, length + next.prefixRun, next.lastLetter, next.suffixRun,
+                            next.innerMoves, totalLength);
+                }
+                if (next.isSingleRun()) {
+                    return new RunSummary(firstLetter, prefixRun, lastLetter, suffixRun + next.length,
+                            innerMoves, totalLength);
+                }
+                // The runs meeting at the boundary join into one inner run
+                long joinedMoves = (suffixRun + next.prefixRun) / 3;
+                return new RunSummary(firstLetter, prefixRun, next.lastLetter, next.suffixRun,
+                        innerMoves + joinedMoves + next.innerMoves, totalLength);
+            }
+
+            // Different letters meet: the boundary runs are finished unless they are an outer run
+            long moves = innerMoves + next.innerMoves;
+            if (!isSingleRun()) {
+                moves += suffixRun / 3;
+            }
+            if (!next.isSingleRun()) {
+                moves += next.prefixRun / 3;
+            }
+            return new RunSummary(firstLetter, prefixRun, next.lastLetter, next.suffixRun, moves, totalLength);
+        }
+
+        long moves() {
+            if (isSingleRun()) {
+                return prefixRun / 3;
+            }
+            return prefixRun / 3 + innerMoves + suffixRun / 3;
+        }
+    }
+
+    public static void main(String[] args) throws java.io.IOException {
         // Test cases
         Solution solution = new Solution();
 
@@ -48,11 +245,12 @@ public class MinMovesThreeIdenticalLetters {
             String input = testInputs[i];
             int expected = expectedOutputs[i];
             int result = solution.solution(input);
+            long streamed = solution(java.nio.ByteBuffer.wrap(input.getBytes()));
 
             System.out.println("Input: \"" + input + "\"");
             System.out.println("Expected Output: " + expected);
-            System.out.println("Actual Output: " + result);
-            if (result == expected) {
+            System.out.println("Actual Output: " + result + " (streaming: " + streamed + ")");
+            if (result == expected && streamed == expected) {
                 System.out.println("✅ Test Passed");
             } else {
                 System.out.println("❌ Test Failed");
@@ -61,6 +259,38 @@ public class MinMovesThreeIdenticalLetters {
             System.out.println();
         }
 
+        // Reader and chunked file input against solution(String) on random strings. Reads of
+        // at most 1-7 characters and chunks of 1-7 bytes make runs cross every kind of boundary.
+        java.util.Random random = new java.util.Random(13);
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("letters", ".txt");
+        boolean streamsPassed = true;
+        try {
+            for (int trial = 0; trial < 2000; trial++) {
+                char[] letters = new char[random.nextInt(60)];
+                for (int i = 0; i < letters.length; i++) {
+                    letters[i] = random.nextInt(3) == 0 ? 'b' : 'a';
+                }
+                String input = new String(letters);
+                int expected = solution.solution(input);
+                int limit = 1 + random.nextInt(7);
+
+                java.io.Reader smallReads = new java.io.FilterReader(new java.io.StringReader(input)) {
+                    @Override
+                    public int read(char[] buffer, int offset, int length) throws java.io.IOException {
+                        return super.read(buffer, offset, Math.min(length, limit));
+                    }
+                };
+                java.nio.file.Files.write(file, input.getBytes(java.nio.charset.StandardCharsets.US_ASCII));
+                streamsPassed &= solution(smallReads) == expected && solution(file, limit) == expected;
+            }
+        } finally {
+            java.nio.file.Files.delete(file);
+        }
+        System.out.println(streamsPassed ? "✅ Reader and chunked file cross-check passed"
+                                         : "❌ Reader and chunked file cross-check failed");
+        allTestsPassed &= streamsPassed;
+        System.out.println();
+
         if (allTestsPassed) {
             System.out.println("🎉 All tests passed!");
         } else {
@@ -48,6 +48,343 @@ class Solution {
         return moves;
     }
     
+    /**
+     * Same as solution(A), relying on A being sorted in non-decreasing order.
+     * Equal values are adjacent, so each run is counted directly in one pass,
+     * without a map and without boxing.
+     * 
+     * @param A The input array sorted in non-decreasing order
+     * @return The minimum number of moves required
+     */
+    public long solutionSorted(int[] A) {
+        if (A == null || A.length == 0) {
+            return 0;
+        }
+        
+        long moves = 0;
+        int runStart = 0;
+        for (int i = 1; i <= A.length; i++) {
+            if (i == A.length || A[i] != A[runStart]) {
+                moves += movesFor(A[runStart], i - runStart);
+                runStart = i;
+            }
+        }
+        return moves;
+    }
+    
+    /**
+     * Same as solution(A) for input in any order, counted in parallel.
+     * The array is split into one range per task; each task counts its range into a
+     * private primitive open-addressing map, and the partial maps are merged at the end.
+     * 
+     * @param A The input array, in any order
+     * @param parallelism Number of ranges to count concurrently
+     * @return The minimum number of moves required
+     */
+    public long solutionParallel(int[] A, int parallelism) {
+        if (A == null || A.length == 0) {
+            return 0;
+        }
+        
+        int ranges = Math.max(1, Math.min(parallelism, A.length));
+        int rangeSize = (A.length + ranges - 1) / ranges;
+        
+        IntIntOpenMap counts = java.util.stream.IntStream.range(0, ranges).parallel()
+                .mapToObj(r -> {
+                    int from = r * rangeSize;
+                    int to = Math.min(A.length, from + rangeSize);
+                    // Start small: the map grows with the number of distinct values, not the range
+                    IntIntOpenMap partial = new IntIntOpenMap(1024);
+                    for (int i = from; i < to; i++) {
+                        partial.add(A[i], 1);
+                    }
+                    return partial;
+                })
+                .reduce((merged, partial) -> {
+                    partial.forEach(merged::add);
+                    return merged;
+                })
+                .get();
+        
+        long[] moves = {0};
+        counts.forEach((value, count) -> moves[0] += movesFor(value, count));
+        return moves[0];
+    }
+    
+    /**
+     * Moves needed for a value that occurs count times: either adjust the count to match
+     * the value exactly, or remove every occurrence, whichever is cheaper.
+     * A value of 0 (or below) can never be matched, so all its occurrences are removed.
+     */
+    static long movesFor(int value, int count) {
+        if (value <= 0) {
+            return count;
+        }
+        return Math.min(Math.abs((long) value - count), count);
+    }
+    
+    /**
+     * Minimal int-to-int hash map with open addressing and linear probing.
+     * Keys and values live in primitive arrays, so nothing is boxed. A key whose value
+     * drops to 0 is removed by shifting the rest of its probe run back, and the table
+     * halves once it is mostly empty, so its capacity follows the live keys rather than
+     * every key ever added.
+     */
+    static final class IntIntOpenMap {
+        @FunctionalInterface
+        interface Entry {
+            void accept(int key, int value);
+        }
+        
+        private static final int MIN_SHRINK_CAPACITY = 16;
+        
+        private int[] keys;
+        private int[] values;
+        private boolean[] used;
+        private int size;
+        private int mask;
+        
+        IntIntOpenMap(int expectedSize) {
+            // Keep the load factor at or below 1/2
+            int capacity = Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+            allocate(capacity);
+        }
+        
+        /**
+         * Adds delta to the value of key (absent keys start at 0) and returns the new value.
+         * The key is removed if its new value is 0.
+         */
+        int add(int key, int delta) {
+            int slot = findSlot(key);
+            if (!used[slot]) {
+                if (delta == 0) {
+                    return 0;
+                }
+                if ((size + 1) * 2 > keys.length) {
+                    resize(keys.length * 2);
+                    slot = findSlot(key);
+                }
+                used[slot] = true;
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] += delta;
+            if (values[slot] != 0) {
+                return values[slot];
+            }
+            
+            removeSlot(slot);
+            // Shrink once at most 1/8 full, leaving the load factor at most 1/4
+            if (keys.length > MIN_SHRINK_CAPACITY && size * 8 < keys.length) {
+                resize(keys.length / 2);
+            }
+            return 0;
+        }
+        
+        /**
+         * Returns the value of key, or 0 if it is absent.
+         */
+        int get(int key) {
+            int slot = findSlot(key);
+            return used[slot] ? values[slot] : 0;
+        }
+        
+        int size() {
+            return size;
+        }
+        
+        /** Number of slots in the table. */
+        int capacity() {
+            return keys.length;
+        }
+        
+        /**
+         * Returns an independent copy; the arrays are copied in bulk, in time proportional
+         * to the capacity and so to the live keys.
+         */
+        IntIntOpenMap copy() {
+            IntIntOpenMap copy = new IntIntOpenMap(2);
+            copy.keys = keys.clone();
+            copy.values = values.clone();
+            copy.used = used.clone();
+            copy.size = size;
+            copy.mask = mask;
+            return copy;
+        }
+        
+        void forEach(Entry action) {
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (used[slot]) {
+                    action.accept(keys[slot], values[slot]);
+                }
+            }
+        }
+        
+        private int findSlot(int key) {
+            int slot = homeSlot(key);
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+        
+        private int homeSlot(int key) {
+            // Spread the bits so runs of consecutive keys do not cluster
+            int hash = key * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+        
+        /**
+         * Empties a slot without tombstones: each later entry of the probe run that may
+         * live in the hole (its home slot is not between the hole and itself) moves back
+         * into it, until the run ends at an empty slot.
+         */
+        private void removeSlot(int slot) {
+            int hole = slot;
+            for (int next = (hole + 1) & mask; used[next]; next = (next + 1) & mask) {
+                int home = homeSlot(keys[next]);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+            }
+            used[hole] = false;
+            values[hole] = 0;
+            size--;
+        }
+        
+        private void allocate(int capacity) {
+            keys = new int[capacity];
+            values = new int[capacity];
+            used = new boolean[capacity];
+            mask = capacity - 1;
+        }
+        
+        private void resize(int capacity) {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+            allocate(capacity);
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldUsed[slot]) {
+                    int newSlot = findSlot(oldKeys[slot]);
+                    used[newSlot] = true;
+                    keys[newSlot] = oldKeys[slot];
+                    values[newSlot] = oldValues[slot];
+                }
+            }
+        }
+    }
+    
+    /**
+     * Tracks the minimum number of moves for a live multiset as values are added and removed.
+     * Per-value counts are kept in a primitive map, and the total moves are updated from the
+     * one value that changed, so every update and every query is O(1).
+     */
+    static final class FrequencyRepairTracker {
+        private IntIntOpenMap counts = new IntIntOpenMap(16);
+        private long moves = 0;
+        
+        /**
+         * A saved state of a tracker. It can be restored any number of times.
+         */
+        static final class Snapshot {
+            private final IntIntOpenMap counts;
+            private final long moves;
+            
+            private Snapshot(IntIntOpenMap counts, long moves) {
+                this.counts = counts;
+                this.moves = moves;
+            }
+        }
+        
+        /**
+         * Adds one occurrence of value.
+         */
+        void add(int value) {
+            int count = counts.add(value, 1);
+            moves += movesFor(value, count) - movesFor(value, count - 1);
+        }
+        
+        /**
+         * Removes one occurrence of value.
+         * 
+         * @return false if the value was not present
+         */
+        boolean remove(int value) {
+            if (counts.get(value) == 0) {
+                return false;
+            }
+            int count = counts.add(value, -1);
+            moves += movesFor(value, count) - movesFor(value, count + 1);
+            return true;
+        }
+        
+        /**
+         * Returns the minimum number of moves for the current multiset.
+         */
+        long moves() {
+            return moves;
+        }
+        
+        /**
+         * Saves the current state. The cost is one bulk copy of the count arrays, whose
+         * size follows the values currently present.
+         */
+        Snapshot snapshot() {
+            return new Snapshot(counts.copy(), moves);
+        }
+        
+        /**
+         * Returns the tracker to a saved state.
+         */
+        void restore(Snapshot snapshot) {
+            counts = snapshot.counts.copy();
+            moves = snapshot.moves;
+        }
+    }
+    
+    /**
+     * Times the HashMap, run-length and parallel open-addressing versions on a
+     * 10M-element array.
+     */
+    public static void benchmark() {
+        Solution sol = new Solution();
+        java.util.Random random = new java.util.Random(1);
+        int[] A = new int[10_000_000];
+        for (int i = 0; i < A.length; i++) {
+            A[i] = random.nextInt(100_000);
+        }
+        int[] sorted = A.clone();
+        java.util.Arrays.sort(sorted);
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        
+        // Warm up each version before timing
+        for (int i = 0; i < 2; i++) {
+            sol.solution(sorted);
+            sol.solutionSorted(sorted);
+            sol.solutionParallel(A, parallelism);
+        }
+        
+        long startTime = System.nanoTime();
+        long hashMapResult = sol.solution(sorted);
+        long hashMapTime = System.nanoTime() - startTime;
+        
+        startTime = System.nanoTime();
+        long sortedResult = sol.solutionSorted(sorted);
+        long sortedTime = System.nanoTime() - startTime;
+        
+        startTime = System.nanoTime();
+        long parallelResult = sol.solutionParallel(A, parallelism);
+        long parallelTime = System.nanoTime() - startTime;
+        
+        System.out.println("10M elements:");
+        System.out.println("HashMap:        " + hashMapResult + " in " + (hashMapTime / 1_000_000) + " ms");
+        System.out.println("Run-length:     " + sortedResult + " in " + (sortedTime / 1_000_000) + " ms");
+        System.out.println("Parallel (" + parallelism + "):   " + parallelResult + " in " + (parallelTime / 1_000_000) + " ms");
+    }
+    
     /**
      * Main method to test the solution with all the examples from the problem statement
      */
@@ -111,5 +448,71 @@ class Solution {
         System.out.println("Result: " + resultLarge);
         System.out.println("Expected: 1"); // Remove the large value (1 move)
         System.out.println("Test " + (resultLarge == 1 ? "PASSED" : "FAILED") + "\n");
+        
+        // Run-length and parallel versions must agree with solution() on every example
+        int[][] examples = {example1, example2, example3, example4, emptyArray, zeroArray, largeValueArray};
+        boolean allAgree = true;
+        for (int[] example : examples) {
+            int expected = sol.solution(example);
+            allAgree &= sol.solutionSorted(example) == expected && sol.solutionParallel(example, 3) == expected;
+        }
+        System.out.println("Run-length and parallel versions: " + (allAgree ? "PASSED" : "FAILED") + "\n");
+        
+        // Incremental tracker: build example 2 one value at a time, then edit it
+        FrequencyRepairTracker tracker = new FrequencyRepairTracker();
+        for (int num : example2) {
+            tracker.add(num);
+        }
+        boolean trackerPassed = tracker.moves() == 4;
+        FrequencyRepairTracker.Snapshot checkpoint = tracker.snapshot();
+        tracker.add(5);      // 5 now appears 4 times: one insertion instead of two
+        tracker.remove(2);   // 2 now appears exactly twice
+        trackerPassed &= tracker.moves() == 2 && !tracker.remove(7);
+        tracker.restore(checkpoint);
+        trackerPassed &= tracker.moves() == 4;
+        System.out.println("Incremental tracker: " + (trackerPassed ? "PASSED" : "FAILED") + "\n");
+        
+        // Random adds, removes and restores against solution() on the live values. Values
+        // whose count drops to 0 must leave the map, so it shrinks back after a burst.
+        java.util.Random random = new java.util.Random(15);
+        FrequencyRepairTracker randomTracker = new FrequencyRepairTracker();
+        java.util.List<Integer> live = new java.util.ArrayList<>();
+        FrequencyRepairTracker.Snapshot saved = randomTracker.snapshot();
+        java.util.List<Integer> savedLive = new java.util.ArrayList<>();
+        boolean randomPassed = true;
+        for (int step = 0; step < 20000; step++) {
+            int action = random.nextInt(10);
+            if (action < 5) {
+                int value = random.nextInt(step % 5000 < 2500 ? 100_000 : 20) - 5;
+                randomTracker.add(value);
+                live.add(value);
+            } else if (action < 9 && !live.isEmpty()) {
+                int value = live.remove(random.nextInt(live.size()));
+                randomPassed &= randomTracker.remove(value);
+            } else if (random.nextBoolean()) {
+                saved = randomTracker.snapshot();
+                savedLive = new java.util.ArrayList<>(live);
+            } else {
+                randomTracker.restore(saved);
+                live = new java.util.ArrayList<>(savedLive);
+            }
+            if (step % 100 == 0) {
+                int[] values = live.stream().mapToInt(Integer::intValue).toArray();
+                randomPassed &= randomTracker.moves() == sol.solution(values)
+                        && randomTracker.counts.size() == java.util.Arrays.stream(values).distinct().count()
+                        && randomTracker.counts.capacity() <= Math.max(32, 8 * randomTracker.counts.size());
+            }
+        }
+        while (!live.isEmpty()) {
+            randomPassed &= randomTracker.remove(live.remove(live.size() - 1));
+        }
+        randomPassed &= randomTracker.moves() == 0 && randomTracker.counts.size() == 0
+                && randomTracker.counts.capacity() <= 32;
+        System.out.println("Tracker with removals: " + (randomPassed ? "PASSED" : "FAILED") + "\n");
+        
+        // Pass --benchmark to time the versions on a 10M-element array
+        if (args.length > 0 && args[0].equals("--benchmark")) {
+            benchmark();
+        }
     }
 }
\ No newline at end of file
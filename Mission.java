@@ -26,4 +26,409 @@ class Solution {
 
         return days;
     }
+
+    /**
+     * Plan for K teams that each take one contiguous segment of the missions.
+     * Team t does missions [segmentStart(t), segmentEnd(t)) in teamDays(t) days.
+     */
+    static class TeamPlan {
+        final int makespan;
+        private final int[] segmentStarts;
+        private final int[] teamDays;
+
+        TeamPlan(int makespan, int[] segmentStarts, int[] teamDays) {
+            this.makespan = makespan;
+            this.segmentStarts = segmentStarts;
+            this.teamDays = teamDays;
+        }
+
+        int teams() {
+            return teamDays.length;
+        }
+
+        int segmentStart(int team) {
+            return segmentStarts[team];
+        }
+
+        int segmentEnd(int team) {
+            return segmentStarts[team + 1];
+        }
+
+        int teamDays(int team) {
+            return teamDays[team];
+        }
+    }
+
+    /**
+     * Splits the missions into at most K contiguous segments, one per team, so that the
+     * largest number of days any team needs is minimal.
+     *
+     * Cutting a segment in the middle of a day never helps, because each team groups its
+     * missions greedily just like solution(D, X). So the best split cuts the single-team
+     * schedule at day boundaries, and the makespan is ceil(days / K). A binary search over
+     * day counts with the grouping as feasibility check converges to the same value, so
+     * the closed form is used instead, and each team's days follow from the cuts.
+     *
+     * @param D Mission difficulties, in the order they must be done
+     * @param X Maximum difference in difficulty within one day
+     * @param K Number of teams
+     * @return The segment of each team and the resulting makespan
+     */
+    public TeamPlan scheduleTeams(int[] D, int X, int K) {
+        if (K < 1) {
+            throw new IllegalArgumentException("At least one team is required: " + K);
+        }
+        int n = D.length;
+        if (n == 0) {
+            return new TeamPlan(0, new int[]{0}, new int[0]);
+        }
+
+        // Record where each day of the single-team schedule starts
+        int[] dayStarts = new int[16];
+        int days = 0;
+        int i = 0;
+        while (i < n) {
+            if (days == dayStarts.length) {
+                dayStarts = java.util.Arrays.copyOf(dayStarts, days * 2);
+            }
+            dayStarts[days++] = i;
+            int currentMin = D[i];
+            int currentMax = D[i];
+            i++;
+            while (i < n && (long) Math.max(currentMax, D[i]) - Math.min(currentMin, D[i]) <= X) {
+                currentMin = Math.min(currentMin, D[i]);
+                currentMax = Math.max(currentMax, D[i]);
+                i++;
+            }
+        }
+
+        int makespan = (days + K - 1) / K;
+        int teams = (days + makespan - 1) / makespan;
+        int[] segmentStarts = new int[teams + 1];
+        for (int team = 0; team < teams; team++) {
+            segmentStarts[team] = dayStarts[team * makespan];
+        }
+        segmentStarts[teams] = n;
+
+        // Every team but the last takes makespan whole days of the single-team schedule
+        int[] teamDays = new int[teams];
+        for (int team = 0; team < teams; team++) {
+            teamDays[team] = Math.max(0, Math.min(makespan, days - team * makespan));
+        }
+
+        return new TeamPlan(makespan, segmentStarts, teamDays);
+    }
+
+    /**
+     * Receives each day as soon as it is closed.
+     */
+    @FunctionalInterface
+    interface DayListener {
+        /**
+         * @param firstMission Position of the day's first mission in the input
+         * @param missions Number of missions done that day
+         * @param minDifficulty Easiest mission of the day
+         * @param maxDifficulty Hardest mission of the day
+         */
+        void onDay(long firstMission, long missions, int minDifficulty, int maxDifficulty);
+    }
+
+    /**
+     * Streaming version of solution(D, X): missions are fed one at a time and a day is
+     * emitted as soon as a mission no longer fits in it. Only the current day's range
+     * is kept, so memory does not depend on the number of missions.
+     */
+    static class StreamingDayScheduler {
+        private final int X;
+        private final DayListener listener;
+
+        private long missions = 0;
+        private long days = 0;
+        private long dayStart = 0;
+        private int dayMin;
+        private int dayMax;
+
+        StreamingDayScheduler(int X, DayListener listener) {
+            this.X = X;
+            this.listener = listener;
+        }
+
+        void accept(int difficulty) {
+            if (missions > dayStart) {
+                int newMin = Math.min(dayMin, difficulty);
+                int newMax = Math.max(dayMax, difficulty);
+                if ((long) newMax - newMin <= X) {
+                    dayMin = newMin;
+                    dayMax = newMax;
+                    missions++;
+                    return;
+                }
+                closeDay();
+            }
+            dayMin = difficulty;
+            dayMax = difficulty;
+            missions++;
+        }
+
+        /**
+         * Closes the last day.
+         *
+         * @return The total number of days
+         */
+        long finish() {
+            if (missions > dayStart) {
+                closeDay();
+            }
+            return days;
+        }
+
+        long days() {
+            return days;
+        }
+
+        long missions() {
+            return missions;
+        }
+
+        private void closeDay() {
+            days++;
+            listener.onDay(dayStart, missions - dayStart, dayMin, dayMax);
+            dayStart = missions;
+        }
+    }
+
+    /**
+     * Result of a scheduling run: the days with their difficulty ranges, and throughput.
+     * Ranges are kept in growable primitive arrays, so a schedule of millions of days
+     * does not create an object per day.
+     */
+    static class ScheduleReport implements DayListener {
+        private int[] dayMins = new int[16];
+        private int[] dayMaxs = new int[16];
+        private int days = 0;
+        private long missions = 0;
+        private long elapsedNanos = 0;
+
+        @Override
+        public void onDay(long firstMission, long missions, int minDifficulty, int maxDifficulty) {
+            if (days == dayMins.length) {
+                dayMins = java.util.Arrays.copyOf(dayMins, days * 2);
+                dayMaxs = java.util.Arrays.copyOf(dayMaxs, days * 2);
+            }
+            dayMins[days] = minDifficulty;
+            dayMaxs[days] = maxDifficulty;
+            days++;
+            this.missions += missions;
+        }
+
+        int days() {
+            return days;
+        }
+
+        /** Easiest mission of the given day (0-indexed). */
+        int dayMin(int day) {
+            return dayMins[day];
+        }
+
+        /** Hardest mission of the given day (0-indexed). */
+        int dayMax(int day) {
+            return dayMaxs[day];
+        }
+
+        double missionsPerSecond() {
+            return elapsedNanos == 0 ? 0 : missions * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return days + " days, " + missions + " missions, " + (long) missionsPerSecond() + " missions/s";
+        }
+    }
+
+    /**
+     * Schedules missions in the given order from a primitive iterator.
+     */
+    public ScheduleReport scheduleInOrder(java.util.PrimitiveIterator.OfInt difficulties, int X) {
+        ScheduleReport report = new ScheduleReport();
+        StreamingDayScheduler scheduler = new StreamingDayScheduler(X, report);
+        long startTime = System.nanoTime();
+        while (difficulties.hasNext()) {
+            scheduler.accept(difficulties.nextInt());
+        }
+        scheduler.finish();
+        report.elapsedNanos = System.nanoTime() - startTime;
+        return report;
+    }
+
+    /**
+     * Schedules missions in the given order from an IntStream.
+     */
+    public ScheduleReport scheduleInOrder(java.util.stream.IntStream difficulties, int X) {
+        return scheduleInOrder(difficulties.iterator(), X);
+    }
+
+    /**
+     * Schedules missions when they may be done in any order. Sorting the difficulties
+     * first makes the greedy grouping optimal: each day starts at the easiest remaining
+     * mission and takes every mission within X of it. D is left unchanged.
+     */
+    public ScheduleReport scheduleReordered(int[] D, int X) {
+        long startTime = System.nanoTime();
+        int[] sorted = radixSort(D);
+
+        ScheduleReport report = new ScheduleReport();
+        StreamingDayScheduler scheduler = new StreamingDayScheduler(X, report);
+        for (int difficulty : sorted) {
+            scheduler.accept(difficulty);
+        }
+        scheduler.finish();
+        report.elapsedNanos = System.nanoTime() - startTime;
+        return report;
+    }
+
+    /**
+     * Returns a sorted copy of A using an LSD radix sort with two 16-bit passes.
+     * Flipping the sign bit makes negative values order correctly as unsigned keys.
+     */
+    static int[] radixSort(int[] A) {
+        int n = A.length;
+        int[] source = new int[n];
+        for (int i = 0; i < n; i++) {
+            source[i] = A[i] ^ Integer.MIN_VALUE;
+        }
+        int[] target = new int[n];
+        int[] counts = new int[(1 << 16) + 1];
+
+        for (int shift = 0; shift < 32; shift += 16) {
+            java.util.Arrays.fill(counts, 0);
+            for (int value : source) {
+                counts[((value >>> shift) & 0xFFFF) + 1]++;
+            }
+            for (int digit = 0; digit < 1 << 16; digit++) {
+                counts[digit + 1] += counts[digit];
+            }
+            for (int value : source) {
+                target[counts[(value >>> shift) & 0xFFFF]++] = value;
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        for (int i = 0; i < n; i++) {
+            source[i] ^= Integer.MIN_VALUE;
+        }
+        return source;
+    }
+
+    /**
+     * Tests the streaming scheduler and the reordered mode against solution(D, X), and
+     * the radix sort against Arrays.sort.
+     */
+    static void testSchedulers() {
+        Solution solver = new Solution();
+        java.util.Random random = new java.util.Random(1);
+        boolean passed = true;
+
+        for (int trial = 0; trial < 5000; trial++) {
+            int[] D = new int[random.nextInt(30)];
+            for (int i = 0; i < D.length; i++) {
+                D[i] = random.nextInt(20) - 10;
+            }
+            int X = random.nextInt(8);
+
+            // In order: same days as solution(D, X), each with the range of its missions
+            boolean[] rangesMatch = {true};
+            StreamingDayScheduler scheduler = new StreamingDayScheduler(X, (first, missions, min, max) -> {
+                int[] day = java.util.Arrays.copyOfRange(D, (int) first, (int) (first + missions));
+                rangesMatch[0] &= min == java.util.Arrays.stream(day).min().getAsInt()
+                        && max == java.util.Arrays.stream(day).max().getAsInt()
+                        && max - min <= X;
+            });
+            for (int difficulty : D) {
+                scheduler.accept(difficulty);
+            }
+            passed &= scheduler.finish() == solver.solution(D, X) && rangesMatch[0];
+            passed &= solver.scheduleInOrder(java.util.Arrays.stream(D), X).days() == solver.solution(D, X);
+
+            // Reordered: same days as grouping a sorted copy, and never more than in order
+            int[] sorted = D.clone();
+            java.util.Arrays.sort(sorted);
+            ScheduleReport reordered = solver.scheduleReordered(D, X);
+            passed &= reordered.days() == solver.solution(sorted, X)
+                    && reordered.days() <= solver.solution(D, X);
+            for (int day = 1; day < reordered.days(); day++) {
+                passed &= reordered.dayMin(day) > reordered.dayMin(day - 1) + X;
+            }
+        }
+
+        int[] values = new int[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt();
+        }
+        int[] expected = values.clone();
+        java.util.Arrays.sort(expected);
+        passed &= java.util.Arrays.equals(radixSort(values), expected);
+
+        System.out.println("Streaming and reordered schedulers: " + (passed ? "PASSED" : "FAILED"));
+    }
+
+    /**
+     * Tests scheduleTeams against an exhaustive search over every way of cutting the
+     * missions into at most K contiguous segments.
+     */
+    static void testScheduleTeams() {
+        Solution solver = new Solution();
+        java.util.Random random = new java.util.Random(2);
+        boolean passed = true;
+
+        for (int trial = 0; trial < 2000; trial++) {
+            int n = random.nextInt(15);
+            int[] D = new int[n];
+            for (int i = 0; i < n; i++) {
+                D[i] = random.nextInt(20);
+            }
+            int X = random.nextInt(6);
+            int K = random.nextInt(5) + 1;
+
+            // best[k][i]: smallest makespan for the first i missions with at most k teams
+            int[][] best = new int[K + 1][n + 1];
+            java.util.Arrays.fill(best[0], 1, n + 1, Integer.MAX_VALUE);
+            for (int k = 1; k <= K; k++) {
+                for (int i = 1; i <= n; i++) {
+                    best[k][i] = best[k - 1][i];
+                    for (int j = 0; j < i; j++) {
+                        if (best[k - 1][j] != Integer.MAX_VALUE) {
+                            int days = solver.solution(java.util.Arrays.copyOfRange(D, j, i), X);
+                            best[k][i] = Math.min(best[k][i], Math.max(best[k - 1][j], days));
+                        }
+                    }
+                }
+            }
+
+            TeamPlan plan = solver.scheduleTeams(D, X, K);
+            passed &= plan.makespan == best[K][n] && plan.teams() <= K;
+            int maxDays = 0;
+            int expectedStart = 0;
+            for (int team = 0; team < plan.teams(); team++) {
+                passed &= plan.segmentStart(team) == expectedStart
+                        && plan.teamDays(team) == solver.solution(
+                                java.util.Arrays.copyOfRange(D, plan.segmentStart(team), plan.segmentEnd(team)), X);
+                maxDays = Math.max(maxDays, plan.teamDays(team));
+                expectedStart = plan.segmentEnd(team);
+            }
+            passed &= expectedStart == n && maxDays == plan.makespan;
+        }
+
+        // Differences that overflow int still split days
+        TeamPlan extremes = solver.scheduleTeams(new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE}, 0, 1);
+        passed &= extremes.makespan == 2 && extremes.teamDays(0) == 2;
+
+        System.out.println("Team scheduler: " + (passed ? "PASSED" : "FAILED"));
+    }
+
+    public static void main(String[] args) {
+        testSchedulers();
+        testScheduleTeams();
+    }
 }
@@ -67,6 +67,446 @@ public class RoadRepair {
         return patches;
     }
     
+    /**
+     * Computes the minimum number of patches by first packing the potholes into a
+     * long[] bitset, then jumping from pothole to pothole with Long.numberOfTrailingZeros.
+     * Stretches without potholes are skipped 64 segments at a time.
+     * 
+     * Packing reads every segment, while solutionOptimized skips the two segments after
+     * each pothole. So for a single scan this is only faster on irregular roads, where
+     * the branch in solutionOptimized is mispredicted; on sparse or fully damaged roads
+     * solutionOptimized wins. The bitset pays off when one packed survey is reused for
+     * several queries (see countPatches, nextPothole and the plans below).
+     * 
+     * @param S A string representing the road, where 'X' denotes a pothole and '.' denotes a good segment.
+     * @return The minimum number of patches required.
+     */
+    public static int solutionBitset(String S) {
+        // Edge case: empty road or null input
+        if (S == null || S.isEmpty()) {
+            return 0;
+        }
+        
+        return countPatches(packPotholes(S), S.length(), 3);
+    }
+    
+    private static final long BYTES_X = 0x5858585858585858L; // 'X' in every byte
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final java.lang.invoke.VarHandle LONG_VIEW =
+            java.lang.invoke.MethodHandles.byteArrayViewVarHandle(long[].class, java.nio.ByteOrder.LITTLE_ENDIAN);
+    
+    // Segments packed per chunk; the chunk buffers are reused, so packing never copies the whole road
+    private static final int PACK_CHUNK = 4096;
+    
+    /**
+     * Packs a road into a bitset where bit i is set if segment i is a pothole.
+     * A String is copied through small reusable chunk buffers and its bytes are tested
+     * eight at a time; other sequences are tested one character at a time. Neither path
+     * branches on the segments, so irregular roads cost no mispredictions.
+     * 
+     * @param road The road, where 'X' denotes a pothole
+     * @return One long per 64 segments
+     */
+    static long[] packPotholes(CharSequence road) {
+        int length = road.length();
+        long[] potholes = new long[(length + 63) >>> 6];
+        if (road instanceof String) {
+            packPotholes((String) road, potholes);
+            return potholes;
+        }
+        packPotholes(road, 0, length, potholes);
+        return potholes;
+    }
+    
+    /**
+     * Packs segments [from, to) of a road with one branch-free compare per character.
+     */
+    private static void packPotholes(CharSequence road, int from, int to, long[] potholes) {
+        for (int i = from; i < to; i++) {
+            potholes[i >>> 6] |= (long) (road.charAt(i) == 'X' ? 1 : 0) << i;
+        }
+    }
+    
+    /**
+     * Packs a String chunk by chunk. Each chunk is copied into a char buffer and encoded
+     * to Latin-1 bytes, both with bulk intrinsics; characters outside Latin-1 become '?',
+     * which is not a pothole either. The bytes are then tested eight at a time: XOR with
+     * 'X' zeroes the pothole bytes, adding 0x7F to the low seven bits of each byte sets the
+     * high bit of every non-zero byte without carrying into the next one, and the high
+     * bits of the zero bytes are gathered into the low 8 bits by one multiplication.
+     */
+    private static void packPotholes(String road, long[] potholes) {
+        int length = road.length();
+        char[] chars = new char[Math.min(PACK_CHUNK, length)];
+        byte[] bytes = new byte[chars.length];
+        java.nio.CharBuffer charBuffer = java.nio.CharBuffer.wrap(chars);
+        java.nio.ByteBuffer byteBuffer = java.nio.ByteBuffer.wrap(bytes);
+        java.nio.charset.CharsetEncoder latin1 = java.nio.charset.StandardCharsets.ISO_8859_1.newEncoder()
+                .onMalformedInput(java.nio.charset.CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(java.nio.charset.CodingErrorAction.REPLACE);
+        
+        for (int from = 0; from < length; from += chars.length) {
+            int n = Math.min(chars.length, length - from);
+            road.getChars(from, from + n, chars, 0);
+            charBuffer.clear().limit(n);
+            byteBuffer.clear();
+            latin1.reset().encode(charBuffer, byteBuffer, true);
+            if (byteBuffer.position() != n) {
+                // A surrogate pair was replaced by a single '?', so bytes no longer line up with segments
+                packPotholes(road, from, from + n, potholes);
+                continue;
+            }
+            
+            int j = 0;
+            for (; j + Long.BYTES <= n; j += Long.BYTES) {
+                long x = (long) LONG_VIEW.get(bytes, j) ^ BYTES_X;
+                long nonZero = ((x & LOW_SEVEN_BITS) + LOW_SEVEN_BITS) | x;
+                long zero = ~nonZero & HIGH_BITS;
+                long bits = ((zero >>> 7) * 0x0102040810204080L) >>> 56;
+                int i = from + j;
+                potholes[i >>> 6] |= bits << (i & 63);
+            }
+            for (; j < n; j++) {
+                int i = from + j;
+                potholes[i >>> 6] |= (long) (bytes[j] == 'X' ? 1 : 0) << i;
+            }
+        }
+    }
+    
+    /**
+     * Counts the patches needed for a pothole bitset. Each patch starts at the next
+     * pothole and clears the patch-width span that follows it.
+     * 
+     * @param potholes Pothole bitset, bit i for segment i
+     * @param length Number of segments in the road
+     * @param patchWidth Number of segments one patch covers
+     * @return The minimum number of patches required.
+     */
+    static int countPatches(long[] potholes, int length, int patchWidth) {
+        int patches = 0;
+        long position = nextPothole(potholes, length, 0);
+        
+        while (position >= 0) {
+            patches++;
+            position = nextPothole(potholes, length, position + patchWidth);
+        }
+        
+        return patches;
+    }
+    
+    /**
+     * Finds the first pothole at or after a segment.
+     * 
+     * @param potholes Pothole bitset, bit i for segment i
+     * @param length Number of segments in the road
+     * @param from First segment to look at
+     * @return The segment of the next pothole, or -1 if there is none
+     */
+    static long nextPothole(long[] potholes, int length, long from) {
+        if (from >= length) {
+            return -1;
+        }
+        int w = (int) (from >>> 6);
+        // Ignore potholes before from in this word
+        long word = potholes[w] & (-1L << (from & 63));
+        while (word == 0) {
+            if (++w == potholes.length) {
+                return -1;
+            }
+            word = potholes[w];
+        }
+        return ((long) w << 6) + Long.numberOfTrailingZeros(word);
+    }
+    
+    /**
+     * Returns the start segment of every patch, in order.
+     * 
+     * @param S A string representing the road, where 'X' denotes a pothole and '.' denotes a good segment.
+     * @return The start offsets of the patches; its length is the number of patches
+     */
+    public static int[] patchPositions(String S) {
+        if (S == null || S.isEmpty()) {
+            return new int[0];
+        }
+        
+        long[] potholes = packPotholes(S);
+        int[] positions = new int[countPatches(potholes, S.length(), 3)];
+        int patches = 0;
+        for (long p = nextPothole(potholes, S.length(), 0); p >= 0; p = nextPothole(potholes, S.length(), p + 3)) {
+            positions[patches++] = (int) p;
+        }
+        return positions;
+    }
+    
+    /**
+     * Returns the start segments of the patches as a lazy primitive stream.
+     * Positions are produced one at a time from the pothole bitset, so no array
+     * of positions is built.
+     * 
+     * @param S A string representing the road, where 'X' denotes a pothole and '.' denotes a good segment.
+     * @return The start offsets of the patches, in order
+     */
+    public static java.util.stream.IntStream patchPositionStream(String S) {
+        if (S == null || S.isEmpty()) {
+            return java.util.stream.IntStream.empty();
+        }
+        
+        long[] potholes = packPotholes(S);
+        int length = S.length();
+        java.util.PrimitiveIterator.OfInt positions = new java.util.PrimitiveIterator.OfInt() {
+            private long next = nextPothole(potholes, length, 0);
+            
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+            
+            @Override
+            public int nextInt() {
+                if (next < 0) {
+                    throw new java.util.NoSuchElementException();
+                }
+                int position = (int) next;
+                next = nextPothole(potholes, length, next + 3);
+                return position;
+            }
+        };
+        return java.util.stream.StreamSupport.intStream(java.util.Spliterators.spliteratorUnknownSize(positions,
+                java.util.Spliterator.ORDERED | java.util.Spliterator.SORTED | java.util.Spliterator.DISTINCT
+                        | java.util.Spliterator.NONNULL), false);
+    }
+    
+    /**
+     * Writes the start segment of every patch into a caller-supplied buffer.
+     * 
+     * @param S A string representing the road, where 'X' denotes a pothole and '.' denotes a good segment.
+     * @param out Destination for the start offsets
+     * @return The number of positions written
+     * @throws java.nio.BufferOverflowException if out has too little room
+     */
+    public static int writePatchPositions(String S, java.nio.IntBuffer out) {
+        if (S == null || S.isEmpty()) {
+            return 0;
+        }
+        
+        long[] potholes = packPotholes(S);
+        int written = 0;
+        for (long p = nextPothole(potholes, S.length(), 0); p >= 0; p = nextPothole(potholes, S.length(), p + 3)) {
+            out.put((int) p);
+            written++;
+        }
+        return written;
+    }
+    
+    /**
+     * Returns the patch positions run-length compressed. A fully damaged stretch is
+     * patched at start, start + 3, start + 6, ..., so each such stretch is stored as one
+     * (start, count) pair instead of one entry per patch.
+     * 
+     * @param S A string representing the road, where 'X' denotes a pothole and '.' denotes a good segment.
+     * @return Pairs {start0, count0, start1, count1, ...}
+     */
+    public static int[] patchRuns(String S) {
+        if (S == null || S.isEmpty()) {
+            return new int[0];
+        }
+        
+        long[] potholes = packPotholes(S);
+        int length = S.length();
+        int[] runs = new int[16];
+        int size = 0;
+        
+        long p = nextPothole(potholes, length, 0);
+        while (p >= 0) {
+            // Extend the run while the next patch starts right where this one ends
+            long runStart = p;
+            int count = 1;
+            long next = nextPothole(potholes, length, p + 3);
+            while (next == p + 3) {
+                p = next;
+                count++;
+                next = nextPothole(potholes, length, p + 3);
+            }
+            
+            if (size + 2 > runs.length) {
+                runs = java.util.Arrays.copyOf(runs, runs.length * 2);
+            }
+            runs[size++] = (int) runStart;
+            runs[size++] = count;
+            p = next;
+        }
+        
+        return java.util.Arrays.copyOf(runs, size);
+    }
+    
+    /**
+     * Computes the minimum number of patches for a road survey file, where each byte is
+     * one segment ('X' for a pothole). The file is memory-mapped and never loaded onto
+     * the heap as a String, so heap use does not depend on the file size.
+     * 
+     * @param file The survey file
+     * @return The minimum number of patches required.
+     */
+    public static long solution(java.nio.file.Path file) throws java.io.IOException {
+        return solution(file, 1L << 28);
+    }
+    
+    /**
+     * Same as {@link #solution(java.nio.file.Path)}, splitting the file into regions of
+     * the given size that are scanned in parallel.
+     * A patch started near the end of a region can cover up to two segments of the next
+     * one, so each region is scanned for every possible carry-over (0, 1 or 2 covered
+     * segments at its start). The regions are then stitched in order, each using the
+     * result for the carry-over left by the previous region.
+     * 
+     * @param file The survey file
+     * @param regionBytes Size of each region (at most 1 GB)
+     * @return The minimum number of patches required.
+     */
+    public static long solution(java.nio.file.Path file, long regionBytes) throws java.io.IOException {
+        final int patchWidth = 3;
+        if (regionBytes <= 0 || regionBytes > (1L << 30)) {
+            throw new IllegalArgumentException("Region size must be between 1 byte and 1 GB: " + regionBytes);
+        }
+        
+        try (java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(file)) {
+            long size = channel.size();
+            int regions = (int) ((size + regionBytes - 1) / regionBytes);
+            
+            // results[r][carryIn] = {patches, carryOut}
+            long[][][] results = java.util.stream.IntStream.range(0, regions).parallel()
+                    .mapToObj(r -> {
+                        long from = r * regionBytes;
+                        long length = Math.min(regionBytes, size - from);
+                        return scanRegionForAllCarries(channel, from, length, patchWidth);
+                    })
+                    .toArray(long[][][]::new);
+            
+            long patches = 0;
+            int carry = 0;
+            for (long[][] region : results) {
+                patches += region[carry][0];
+                carry = (int) region[carry][1];
+            }
+            return patches;
+        }
+    }
+    
+    /**
+     * Scans one region for each carry-over 0..patchWidth-1.
+     * A carry-over only matters if a pothole lies in the covered prefix, so the region is
+     * rescanned only for the carry-overs that actually cover its first pothole.
+     */
+    private static long[][] scanRegionForAllCarries(java.nio.channels.FileChannel channel, long from, long length,
+                                                    int patchWidth) {
+        long[][] results = new long[patchWidth][];
+        long[] withoutCarry = scanRegion(channel, from, length, 0, patchWidth);
+        long firstPothole = withoutCarry[2];
+        
+        results[0] = withoutCarry;
+        for (int carry = 1; carry < patchWidth; carry++) {
+            if (firstPothole < 0 || firstPothole >= carry) {
+                // Same patches; only a carry-over longer than the region reaches past it
+                results[carry] = new long[]{withoutCarry[0], Math.max(withoutCarry[1], carry - length)};
+            } else {
+                results[carry] = scanRegion(channel, from, length, carry, patchWidth);
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Greedily patches one mapped region, copying it through a small reusable buffer.
+     * 
+     * @param carry Number of segments at the start of the region already covered
+     * @return {patches, segments of the next region covered, offset of the first pothole or -1}
+     */
+    private static long[] scanRegion(java.nio.channels.FileChannel channel, long from, long length,
+                                     int carry, int patchWidth) {
+        java.nio.MappedByteBuffer region;
+        try {
+            region = channel.map(java.nio.channels.FileChannel.MapMode.READ_ONLY, from, length);
+        } catch (java.io.IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+        
+        long patches = 0;
+        long coveredUntil = carry; // First offset not covered by a patch
+        long firstPothole = -1;
+        
+        byte[] buffer = new byte[64 * 1024];
+        long offset = 0;
+        while (region.hasRemaining()) {
+            int chunk = Math.min(buffer.length, region.remaining());
+            region.get(buffer, 0, chunk);
+            for (int i = 0; i < chunk; i++) {
+                if (buffer[i] == 'X') {
+                    long position = offset + i;
+                    if (firstPothole < 0) {
+                        firstPothole = position;
+                    }
+                    if (position >= coveredUntil) {
+                        patches++;
+                        coveredUntil = position + patchWidth;
+                    }
+                }
+            }
+            offset += chunk;
+        }
+        
+        return new long[]{patches, Math.max(0, coveredUntil - length), firstPothole};
+    }
+    
+    /**
+     * Compares the three methods on a large road. Each method is warmed up first and
+     * then timed over several runs, reporting the average time per run.
+     */
+    static void benchmark(String road, int expected) {
+        final int warmupRuns = 5;
+        final int measuredRuns = 10;
+        
+        String[] names = {"solution", "solutionOptimized", "solutionBitset"};
+        for (int m = 0; m < names.length; m++) {
+            int result = 0;
+            for (int run = 0; run < warmupRuns; run++) {
+                result = runMethod(m, road);
+            }
+            long startTime = System.nanoTime();
+            for (int run = 0; run < measuredRuns; run++) {
+                result = runMethod(m, road);
+            }
+            long averageTime = (System.nanoTime() - startTime) / measuredRuns;
+            System.out.println(names[m] + ": " + result + " (expected: " + expected + "), "
+                               + (averageTime / 1_000) + " us per run");
+        }
+        
+        // The bitset pays off when a packed survey is scanned repeatedly: time the scan alone
+        long[] potholes = packPotholes(road);
+        int result = 0;
+        for (int run = 0; run < warmupRuns; run++) {
+            result = countPatches(potholes, road.length(), 3);
+        }
+        long startTime = System.nanoTime();
+        for (int run = 0; run < measuredRuns; run++) {
+            result = countPatches(potholes, road.length(), 3);
+        }
+        long averageTime = (System.nanoTime() - startTime) / measuredRuns;
+        System.out.println("countPatches on packed bitset: " + result + " (expected: " + expected + "), "
+                           + (averageTime / 1_000) + " us per run");
+    }
+    
+    private static int runMethod(int method, String road) {
+        switch (method) {
+            case 0:
+                return solution(road);
+            case 1:
+                return solutionOptimized(road);
+            default:
+                return solutionBitset(road);
+        }
+    }
+    
     /**
      * Main method with test cases to validate the solution.
      */
@@ -97,11 +537,78 @@ public class RoadRepair {
         // Very large input (100,000 characters, all potholes)
         String veryLargeInput = "X".repeat(100000);
         System.out.println("\nVery large input (100,000 potholes):");
-        long startTime = System.nanoTime();
-        int result = solutionOptimized(veryLargeInput);
-        long endTime = System.nanoTime();
-        System.out.println("Result: " + result + " (expected: 33334)");
-        System.out.println("Time taken: " + ((endTime - startTime) / 1_000_000) + " ms");
+        benchmark(veryLargeInput, 33334);
+        
+        // Sparse road (10,000,000 segments, one pothole every 1,000)
+        StringBuilder sparseSB = new StringBuilder();
+        for (int i = 0; i < 10_000_000; i++) {
+            sparseSB.append(i % 1000 == 0 ? 'X' : '.');
+        }
+        System.out.println("\nSparse road (10,000,000 segments):");
+        benchmark(sparseSB.toString(), 10000);
+        
+        // Random road (1,000,000 segments, each a pothole with probability 1/2)
+        java.util.Random random = new java.util.Random(1);
+        char[] randomSegments = new char[1_000_000];
+        for (int i = 0; i < randomSegments.length; i++) {
+            randomSegments[i] = random.nextBoolean() ? 'X' : '.';
+        }
+        String randomRoad = new String(randomSegments);
+        System.out.println("\nRandom road (1,000,000 segments):");
+        benchmark(randomRoad, solutionOptimized(randomRoad));
+        
+        // Packing a String and a generic CharSequence must agree with a plain scan
+        boolean packPassed = true;
+        for (int trial = 0; trial < 2000; trial++) {
+            // U+0158 has 'X' as its low byte; D83D DE00 is a surrogate pair, used in odd trials only
+            char[] segments = new char[random.nextInt(10_000)];
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = "X.X.\u0158\uD83D\uDE00".charAt(random.nextInt(trial % 2 == 0 ? 5 : 7));
+            }
+            String road = new String(segments);
+            long[] expected = new long[(segments.length + 63) >>> 6];
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i] == 'X') {
+                    expected[i >>> 6] |= 1L << i;
+                }
+            }
+            packPassed &= java.util.Arrays.equals(packPotholes(road), expected)
+                    && java.util.Arrays.equals(packPotholes(new StringBuilder(road)), expected);
+        }
+        System.out.println("\nPothole packing: " + (packPassed ? "PASSED" : "FAILED"));
+        
+        // Patch positions, as an array, a stream, a buffer and in run-length form
+        String planRoad = "XXXXXXX.X..X";
+        int[] expectedPositions = {0, 3, 6, 11};
+        java.nio.IntBuffer positionBuffer = java.nio.IntBuffer.allocate(expectedPositions.length);
+        writePatchPositions(planRoad, positionBuffer);
+        boolean plansPassed = java.util.Arrays.equals(patchPositions(planRoad), expectedPositions)
+                && java.util.Arrays.equals(patchPositionStream(planRoad).toArray(), expectedPositions)
+                && java.util.Arrays.equals(positionBuffer.array(), expectedPositions)
+                && java.util.Arrays.equals(patchRuns(planRoad), new int[]{0, 3, 11, 1})
+                && patchRuns(veryLargeInput).length == 2;
+        System.out.println("\nPatch placement plans: " + (plansPassed ? "PASSED" : "FAILED"));
+        
+        // File input, with small regions so patches cross region boundaries
+        try {
+            java.nio.file.Path survey = java.nio.file.Files.createTempFile("road", ".txt");
+            try {
+                boolean filePassed = true;
+                String[] roads = {"", "X", "XXXX", "..XX.X", "X.X.X.X.X", "XXX.XXX.XXX", largeInput};
+                for (String road : roads) {
+                    java.nio.file.Files.write(survey, road.getBytes(java.nio.charset.StandardCharsets.US_ASCII));
+                    for (long regionBytes = 1; regionBytes <= 5; regionBytes++) {
+                        filePassed &= solution(survey, regionBytes) == solutionOptimized(road);
+                    }
+                    filePassed &= solution(survey) == solutionOptimized(road);
+                }
+                System.out.println("\nMemory-mapped file input: " + (filePassed ? "PASSED" : "FAILED"));
+            } finally {
+                java.nio.file.Files.delete(survey);
+            }
+        } catch (java.io.IOException e) {
+            System.out.println("\nMemory-mapped file input: FAILED (" + e.getMessage() + ")");
+        }
     }
     
     /**
@@ -113,9 +620,10 @@ public class RoadRepair {
      */
     private static void testCase(String input, int expected, String description) {
         int result = solutionOptimized(input);
+        int bitsetResult = solutionBitset(input);
         System.out.println("Test: " + description);
         System.out.println("Input: \"" + input + "\"");
-        System.out.println("Result: " + result + ", Expected: " + expected);
-        System.out.println("Test " + (result == expected ? "PASSED" : "FAILED") + "\n");
+        System.out.println("Result: " + result + ", Bitset: " + bitsetResult + ", Expected: " + expected);
+        System.out.println("Test " + (result == expected && bitsetResult == expected ? "PASSED" : "FAILED") + "\n");
     }
 }
\ No newline at end of file
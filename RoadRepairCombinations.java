@@ -30,8 +30,29 @@ public class RoadRepairCombinations {
      * Determine if it's possible to repair both roads within a given capacity K.
      */
     public static boolean canRepairWithinCapacity(String L1, String L2, int K) {
-        int totalPatches = countPatches(L1) + countPatches(L2);
-        return totalPatches <= K;
+        // Stop scanning as soon as the budget is exceeded
+        int patchesL1 = countPatchesUpTo(L1, K);
+        return patchesL1 <= K && countPatchesUpTo(L2, K - patchesL1) <= K - patchesL1;
+    }
+
+    /**
+     * Helper method to count patches for a single road, giving up once the count
+     * exceeds limit. Returns the exact count if it is at most limit, otherwise limit + 1.
+     */
+    private static int countPatchesUpTo(String road, int limit) {
+        int patches = 0;
+        int i = 0;
+        while (i < road.length()) {
+            if (road.charAt(i) == 'X') {
+                if (++patches > limit) {
+                    return patches;
+                }
+                i += 3; // Skip the next two segments
+            } else {
+                i++;
+            }
+        }
+        return patches;
     }
 
     /**
@@ -103,20 +124,518 @@ public class RoadRepairCombinations {
      * Repair both roads simultaneously, allowing patches to cover overlapping segments.
      */
     public static int parallelRoadsWithOverlap(String L1, String L2) {
-        int patches = 0;
-        int i = 0;
-        while (i < Math.max(L1.length(), L2.length())) {
-            boolean needsPatchL1 = (i < L1.length() && L1.charAt(i) == 'X');
-            boolean needsPatchL2 = (i < L2.length() && L2.charAt(i) == 'X');
+        // Same rule as Problem 3
+        return simultaneousPatching(L1, L2);
+    }
 
-            if (needsPatchL1 || needsPatchL2) {
-                patches++;
-                i += 3; // Skip the next two segments
-            } else {
-                i++;
+    /**
+     * Patch profile of a set of roads, built by scanning each road exactly once.
+     * Each road is packed into a pothole bitset; per-road patch counts and positions,
+     * and the count and positions for patching all roads simultaneously (the union of
+     * their potholes), are computed from the bitsets. All seven problems can then be
+     * answered from the profile without touching the road strings again.
+     */
+    public static class PatchProfile {
+        private static final int PATCH_SIZE = 3;
+
+        private final long[][] potholes;
+        private final int[] lengths;
+        private final int[][] positions;
+        private final long[] unionPotholes;
+        private final int unionLength;
+        private final int[] unionPositions;
+        // Per-road patch counts for other patch sizes, computed on first use
+        private final java.util.Map<Integer, int[]> countsBySize = new java.util.concurrent.ConcurrentHashMap<>();
+
+        public PatchProfile(String... roads) {
+            int n = roads.length;
+            potholes = new long[n][];
+            lengths = new int[n];
+            positions = new int[n][];
+
+            int maxLength = 0;
+            for (int r = 0; r < n; r++) {
+                lengths[r] = roads[r].length();
+                potholes[r] = pack(roads[r]);
+                positions[r] = patchPositions(potholes[r], lengths[r], PATCH_SIZE);
+                maxLength = Math.max(maxLength, lengths[r]);
             }
+
+            unionLength = maxLength;
+            unionPotholes = new long[(maxLength + 63) >>> 6];
+            for (long[] road : potholes) {
+                for (int w = 0; w < road.length; w++) {
+                    unionPotholes[w] |= road[w];
+                }
+            }
+            unionPositions = patchPositions(unionPotholes, unionLength, PATCH_SIZE);
         }
-        return patches;
+
+        public int roads() {
+            return lengths.length;
+        }
+
+        /** Patches needed to repair one road on its own. */
+        public int patches(int road) {
+            return positions[road].length;
+        }
+
+        /** Start segments of the patches of one road. */
+        public int[] positions(int road) {
+            return positions[road].clone();
+        }
+
+        /** Patches needed to repair every road separately. */
+        public int totalPatches() {
+            int total = 0;
+            for (int[] roadPositions : positions) {
+                total += roadPositions.length;
+            }
+            return total;
+        }
+
+        /** Patches needed when one patch covers the same segments of every road. */
+        public int unionPatches() {
+            return unionPositions.length;
+        }
+
+        /** Start segments of the simultaneous patches. */
+        public int[] unionPositions() {
+            return unionPositions.clone();
+        }
+
+        /** Patches needed to repair every road separately with patches of size P. */
+        public int totalPatches(int P) {
+            if (P == PATCH_SIZE) {
+                return totalPatches();
+            }
+            int total = 0;
+            for (int count : patchesWithSize(P)) {
+                total += count;
+            }
+            return total;
+        }
+
+        /**
+         * Total cost when each patch on road i costs costs[i].
+         *
+         * @throws IllegalArgumentException if there is not one cost per road
+         */
+        public long weightedCost(int... costs) {
+            if (costs.length != positions.length) {
+                throw new IllegalArgumentException("Expected one cost per road, got " + costs.length
+                                                   + " costs for " + positions.length + " roads");
+            }
+            long cost = 0;
+            for (int r = 0; r < positions.length; r++) {
+                cost += (long) positions[r].length * costs[r];
+            }
+            return cost;
+        }
+
+        private int[] patchesWithSize(int P) {
+            return countsBySize.computeIfAbsent(P, size -> {
+                int[] counts = new int[potholes.length];
+                for (int r = 0; r < potholes.length; r++) {
+                    counts[r] = patchPositions(potholes[r], lengths[r], size).length;
+                }
+                return counts;
+            });
+        }
+
+        /**
+         * Packs a road into a bitset where bit i is set if segment i is a pothole.
+         */
+        private static long[] pack(String road) {
+            long[] bits = new long[(road.length() + 63) >>> 6];
+            for (int i = 0; i < road.length(); i++) {
+                if (road.charAt(i) == 'X') {
+                    bits[i >>> 6] |= 1L << i;
+                }
+            }
+            return bits;
+        }
+
+        /**
+         * Greedy patch positions for a bitset, jumping from pothole to pothole.
+         */
+        private static int[] patchPositions(long[] bits, int length, int P) {
+            int[] result = new int[16];
+            int count = 0;
+            long position = 0;
+            while (position < length) {
+                int w = (int) (position >>> 6);
+                long word = bits[w] & (-1L << (position & 63));
+                while (word == 0 && ++w < bits.length) {
+                    word = bits[w];
+                }
+                if (word == 0) {
+                    break;
+                }
+                int pothole = (w << 6) + Long.numberOfTrailingZeros(word);
+                if (count == result.length) {
+                    result = java.util.Arrays.copyOf(result, count * 2);
+                }
+                result[count++] = pothole;
+                position = (long) pothole + P;
+            }
+            return java.util.Arrays.copyOf(result, count);
+        }
+    }
+
+    /**
+     * Problem 3 for any number of lanes sharing one patching machine (e.g., a 16-lane highway).
+     * All lanes start at segment 0; a shorter lane simply has no potholes past its end.
+     * Each lane is packed into 64-segment words that are ORed into one merged pothole
+     * mask, and a single greedy scan jumps across the merged mask. The scan costs the
+     * same however many lanes there are.
+     */
+    public static int multiLanePatching(String... lanes) {
+        long[][] packed = new long[lanes.length][];
+        int[] lengths = new int[lanes.length];
+        for (int lane = 0; lane < lanes.length; lane++) {
+            packed[lane] = PatchProfile.pack(lanes[lane]);
+            lengths[lane] = lanes[lane].length();
+        }
+        return multiLanePatching(packed, lengths);
+    }
+
+    /**
+     * Same as {@link #multiLanePatching(String...)} for lanes already packed into
+     * pothole bitsets (bit i set if segment i is a pothole).
+     *
+     * @throws IllegalArgumentException if there is not one length per lane, or a lane
+     *         has potholes at or past its length
+     */
+    public static int multiLanePatching(long[][] lanes, int[] lengths) {
+        if (lanes.length != lengths.length) {
+            throw new IllegalArgumentException("Expected one length per lane, got " + lengths.length
+                                               + " lengths for " + lanes.length + " lanes");
+        }
+        int maxLength = 0;
+        for (int lane = 0; lane < lanes.length; lane++) {
+            int length = lengths[lane];
+            int words = (length + 63) >>> 6;
+            for (int w = words; w < lanes[lane].length; w++) {
+                if (lanes[lane][w] != 0) {
+                    throw new IllegalArgumentException("Lane " + lane + " has potholes past its length " + length);
+                }
+            }
+            if ((length & 63) != 0 && words > 0 && (lanes[lane][words - 1] & (-1L << length)) != 0) {
+                throw new IllegalArgumentException("Lane " + lane + " has potholes past its length " + length);
+            }
+            maxLength = Math.max(maxLength, length);
+        }
+
+        long[] merged = new long[(maxLength + 63) >>> 6];
+        for (int lane = 0; lane < lanes.length; lane++) {
+            for (int w = 0; w < Math.min(lanes[lane].length, merged.length); w++) {
+                merged[w] |= lanes[lane][w];
+            }
+        }
+        return PatchProfile.patchPositions(merged, maxLength, 3).length;
+    }
+
+    /**
+     * A patch type: how many segments one patch covers and what it costs.
+     */
+    public static class PatchType {
+        final int width;
+        final long cost;
+
+        public PatchType(int width, long cost) {
+            if (width < 1) {
+                throw new IllegalArgumentException("Patch width must be positive: " + width);
+            }
+            if (cost < 0) {
+                throw new IllegalArgumentException("Patch cost must not be negative: " + cost);
+            }
+            this.width = width;
+            this.cost = cost;
+        }
+    }
+
+    /**
+     * Minimum total cost to repair every pothole on every road using any mix of patch types.
+     * Each road is reduced to the sorted positions of its potholes (found with indexOf, so
+     * long stretches of good road are skipped quickly) and solved by minCostCover.
+     */
+    public static long minCostCover(java.util.List<PatchType> types, String... roads) {
+        long total = 0;
+        for (String road : roads) {
+            int[] potholes = new int[16];
+            int count = 0;
+            for (int i = road.indexOf('X'); i >= 0; i = road.indexOf('X', i + 1)) {
+                if (count == potholes.length) {
+                    potholes = java.util.Arrays.copyOf(potholes, count * 2);
+                }
+                potholes[count++] = i;
+            }
+            total += minCostCover(java.util.Arrays.copyOf(potholes, count), types);
+        }
+        return total;
+    }
+
+    /**
+     * Minimum total cost to cover the given potholes using any mix of patch types.
+     * Works on the pothole positions only, so its run time depends on the number of
+     * potholes and types, not on the road length.
+     *
+     * Some optimal cover has every patch starting at a pothole, so dp[i] is the cheapest
+     * cover of the first i potholes, and a patch of width w placed at pothole i covers
+     * every pothole below potholes[i] + w. The last covered pothole only moves forward as
+     * i grows, so one pointer per type finds it in amortized O(1).
+     *
+     * @param potholes Pothole positions in increasing order
+     * @param types Available patch types
+     * @return The minimum total cost
+     */
+    public static long minCostCover(int[] potholes, java.util.List<PatchType> types) {
+        if (types.isEmpty()) {
+            throw new IllegalArgumentException("At least one patch type is required");
+        }
+        int m = potholes.length;
+        int t = types.size();
+
+        long[] dp = new long[m + 1];
+        java.util.Arrays.fill(dp, Long.MAX_VALUE);
+        dp[0] = 0;
+        int[] coveredEnd = new int[t]; // Per type: first pothole not covered by a patch at pothole i
+
+        for (int i = 0; i < m; i++) {
+            if (dp[i] == Long.MAX_VALUE) {
+                continue; // No cover ends exactly before pothole i
+            }
+            for (int j = 0; j < t; j++) {
+                PatchType type = types.get(j);
+                long reach = (long) potholes[i] + type.width;
+                int end = Math.max(coveredEnd[j], i + 1);
+                while (end < m && potholes[end] < reach) {
+                    end++;
+                }
+                coveredEnd[j] = end;
+                dp[end] = Math.min(dp[end], dp[i] + type.cost);
+            }
+        }
+        return dp[m];
+    }
+
+    /**
+     * Budget planner for a set of roads, each repaired with 3-segment patches. One pass
+     * over the roads records where every greedy patch starts (for the prefix queries) and
+     * how many potholes the best placement of K patches repairs (for the pothole queries);
+     * after that each budget query is answered in O(1) or O(log n) by binary search.
+     *
+     * The most potholes f(K) that K patches can repair grows by 3, 2 or 1 per extra patch,
+     * and the gains never increase with K, so f is fixed by how many patches gain 3 and how
+     * many gain 2. Those counts come from maximizing "potholes repaired - penalty * patches"
+     * with a penalty of 2.5 and 1.5: the best placement then uses exactly the patches whose
+     * gain exceeds the penalty. Each maximization is one DP over the pothole positions.
+     */
+    public static class CapacityPlanner {
+        private static final int PATCH_SIZE = 3;
+
+        private final long totalLength;
+        private final int patches;
+        private final long potholes;
+        // Start of every greedy patch, in repair order, as an offset into the concatenated roads
+        private final long[] patchStarts;
+        // Number of patches that repair 3 more potholes, and that repair at least 2 more
+        private final int gainThree;
+        private final int gainTwoOrMore;
+
+        public CapacityPlanner(String... roads) {
+            long[] starts = new long[16];
+            int count = 0;
+            long offset = 0;
+            long potholeCount = 0;
+            int gainThreeCount = 0;
+            int gainTwoOrMoreCount = 0;
+            int[] positions = new int[16];
+            Placement placement = new Placement(positions.length + 1);
+
+            for (String road : roads) {
+                int m = 0;
+                int i = 0;
+                while (i < road.length()) {
+                    if (road.charAt(i) == 'X') {
+                        if (count == starts.length) {
+                            starts = java.util.Arrays.copyOf(starts, count * 2);
+                        }
+                        starts[count++] = offset + i;
+                        for (int j = i; j < Math.min(i + PATCH_SIZE, road.length()); j++) {
+                            if (road.charAt(j) == 'X') {
+                                if (m == positions.length) {
+                                    positions = java.util.Arrays.copyOf(positions, m * 2);
+                                }
+                                positions[m++] = j;
+                            }
+                        }
+                        i += PATCH_SIZE; // Skip the next two segments
+                    } else {
+                        i++;
+                    }
+                }
+                if (placement.value.length <= m) {
+                    placement = new Placement(positions.length + 1);
+                }
+                // Penalties doubled to stay in integers: 2.5 -> 5 and 1.5 -> 3
+                gainThreeCount += placement.bestPatches(positions, m, 5);
+                gainTwoOrMoreCount += placement.bestPatches(positions, m, 3);
+                potholeCount += m;
+                offset += road.length();
+            }
+
+            this.totalLength = offset;
+            this.patches = count;
+            this.potholes = potholeCount;
+            this.patchStarts = java.util.Arrays.copyOf(starts, count);
+            this.gainThree = gainThreeCount;
+            this.gainTwoOrMore = gainTwoOrMoreCount;
+        }
+
+        /**
+         * Scratch DP for the best placement of patches on one road under a per-patch penalty.
+         */
+        private static final class Placement {
+            // value[i], patches[i]: best 2 * repaired - penalty * patches for potholes i onwards
+            private final long[] value;
+            private final int[] patches;
+
+            Placement(int capacity) {
+                value = new long[capacity];
+                patches = new int[capacity];
+            }
+
+            /**
+             * Patches used by the best placement, where each patch scores 2 per pothole
+             * repaired minus the given penalty. Some best placement starts every patch at a
+             * pothole, so a patch at pothole i repairs potholes i up to the first one that is
+             * PATCH_SIZE or more segments further.
+             */
+            int bestPatches(int[] positions, int m, int penalty) {
+                value[m] = 0;
+                patches[m] = 0;
+                int end = m; // First pothole past the patch that starts at pothole i
+                for (int i = m - 1; i >= 0; i--) {
+                    while (end - 1 > i && positions[end - 1] >= positions[i] + PATCH_SIZE) {
+                        end--;
+                    }
+                    long withPatch = 2L * (end - i) - penalty + value[end];
+                    if (withPatch > value[i + 1]) {
+                        value[i] = withPatch;
+                        patches[i] = patches[end] + 1;
+                    } else {
+                        value[i] = value[i + 1];
+                        patches[i] = patches[i + 1];
+                    }
+                }
+                return patches[0];
+            }
+        }
+
+        /** Patches needed to repair every road. */
+        public int totalPatches() {
+            return patches;
+        }
+
+        /** Potholes on all roads. */
+        public long totalPotholes() {
+            return potholes;
+        }
+
+        /** Whether every road can be repaired with K patches. */
+        public boolean canRepairWithin(int K) {
+            return patches <= K;
+        }
+
+        /** Maximum number of potholes that K patches can repair. */
+        public long potholesRepaired(int K) {
+            if (K <= 0) {
+                return 0;
+            }
+            if (K <= gainThree) {
+                return 3L * K;
+            }
+            if (K <= gainTwoOrMore) {
+                return 3L * gainThree + 2L * (K - gainThree);
+            }
+            return Math.min(potholes, 3L * gainThree + 2L * (gainTwoOrMore - gainThree) + (K - gainTwoOrMore));
+        }
+
+        /**
+         * Length of the longest repaired prefix of the concatenated roads after K patches:
+         * everything before the first pothole that patch K + 1 would repair.
+         */
+        public long longestRepairedPrefix(int K) {
+            if (K < 0) {
+                return patchStarts.length == 0 ? totalLength : patchStarts[0];
+            }
+            return K >= patches ? totalLength : patchStarts[K];
+        }
+
+        /** Fewest patches that repair at least the given number of potholes, or -1 if impossible. */
+        public int patchesForPotholes(long potholes) {
+            if (potholes > this.potholes) {
+                return -1;
+            }
+            if (potholes <= 0) {
+                return 0;
+            }
+            long threes = 3L * gainThree;
+            if (potholes <= threes) {
+                return (int) ((potholes + 2) / 3);
+            }
+            long twos = 2L * (gainTwoOrMore - gainThree);
+            if (potholes <= threes + twos) {
+                return gainThree + (int) ((potholes - threes + 1) / 2);
+            }
+            return gainTwoOrMore + (int) (potholes - threes - twos);
+        }
+
+        /** Fewest patches that repair every pothole in the first length segments. */
+        public int patchesForPrefix(long length) {
+            int index = java.util.Arrays.binarySearch(patchStarts, length);
+            return index < 0 ? -index - 1 : index;
+        }
+    }
+
+    // Problems 1-7 answered from a profile of (L1, L2), without rescanning the roads.
+    // Each throws IllegalArgumentException if the profile does not hold exactly two roads.
+
+    public static int repairTwoRoads(PatchProfile profile) {
+        return requireTwoRoads(profile).totalPatches();
+    }
+
+    public static boolean canRepairWithinCapacity(PatchProfile profile, int K) {
+        return requireTwoRoads(profile).totalPatches() <= K;
+    }
+
+    public static int simultaneousPatching(PatchProfile profile) {
+        return requireTwoRoads(profile).unionPatches();
+    }
+
+    public static int prioritizeOneRoad(PatchProfile profile) {
+        return requireTwoRoads(profile).totalPatches();
+    }
+
+    public static int dynamicPatchSize(PatchProfile profile, int P) {
+        return requireTwoRoads(profile).totalPatches(P);
+    }
+
+    public static long weightedCost(PatchProfile profile, int C1, int C2) {
+        return requireTwoRoads(profile).weightedCost(C1, C2);
+    }
+
+    public static int parallelRoadsWithOverlap(PatchProfile profile) {
+        return requireTwoRoads(profile).unionPatches();
+    }
+
+    private static PatchProfile requireTwoRoads(PatchProfile profile) {
+        if (profile.roads() != 2) {
+            throw new IllegalArgumentException("Expected a profile of two roads, got " + profile.roads());
+        }
+        return profile;
     }
 
     /**
@@ -229,6 +748,168 @@ public class RoadRepairCombinations {
     String L2_large = largeRoad.toString();
     System.out.println("Edge Case 8: Large Inputs");
     System.out.println(repairTwoRoads(L1_large, L2_large)); // Output: ~666666 * 2
+
+    // Edge Case 9: Profile answers match the direct methods, then what-ifs are lookups
+    String[][] profileCases = {{L1, L2}, {"", ""}, {L1_long, L2_short}, {L1_overlap, L2_overlap}, {L1_dynamic, L2_dynamic}};
+    boolean profilePassed = true;
+    for (String[] roads : profileCases) {
+        PatchProfile profile = new PatchProfile(roads[0], roads[1]);
+        profilePassed &= repairTwoRoads(profile) == repairTwoRoads(roads[0], roads[1])
+                && canRepairWithinCapacity(profile, 3) == canRepairWithinCapacity(roads[0], roads[1], 3)
+                && simultaneousPatching(profile) == simultaneousPatching(roads[0], roads[1])
+                && prioritizeOneRoad(profile) == prioritizeOneRoad(roads[0], roads[1])
+                && dynamicPatchSize(profile, 1) == dynamicPatchSize(roads[0], roads[1], 1)
+                && dynamicPatchSize(profile, 4) == dynamicPatchSize(roads[0], roads[1], 4)
+                && weightedCost(profile, 2, 3) == weightedCost(roads[0], roads[1], 2, 3)
+                && parallelRoadsWithOverlap(profile) == parallelRoadsWithOverlap(roads[0], roads[1]);
+    }
+    System.out.println("Edge Case 9: Patch profile " + (profilePassed ? "PASSED" : "FAILED"));
+    try {
+        weightedCost(new PatchProfile(L1, L2, L1_long), 2, 3);
+        System.out.println("Three-road profile: accepted");
+    } catch (IllegalArgumentException e) {
+        System.out.println("Three-road profile: rejected"); // Output: rejected
+    }
+
+    long startTime = System.nanoTime();
+    PatchProfile largeProfile = new PatchProfile(L1_large, L2_large);
+    long profileTime = System.nanoTime() - startTime;
+    startTime = System.nanoTime();
+    for (int K = 0; K < 1000; K++) {
+        canRepairWithinCapacity(largeProfile, K * 1000);
+        weightedCost(largeProfile, K, 1000 - K);
+    }
+    long lookupTime = System.nanoTime() - startTime;
+    System.out.println("Large profile built in " + (profileTime / 1_000_000) + " ms; 2000 what-if queries in "
+                       + (lookupTime / 1_000) + " us");
+
+    // Edge Case 10: Mixed patch sizes
+    java.util.List<PatchType> singleType = java.util.List.of(new PatchType(3, 2));
+    java.util.List<PatchType> mixedTypes = java.util.List.of(new PatchType(1, 2), new PatchType(5, 3));
+    System.out.println("Edge Case 10: Mixed Patch Sizes");
+    System.out.println(minCostCover(singleType, L1_weighted, L2_weighted)); // Output: 4
+    System.out.println(minCostCover(mixedTypes, "X.X.X")); // Output: 3 (one width-5 patch)
+    System.out.println(minCostCover(mixedTypes, "X....X")); // Output: 4 (two width-1 patches)
+    System.out.println(minCostCover(new int[]{5, 200_000_000, 400_000_000}, mixedTypes)); // Output: 6
+
+    // Cross-check against a DP over every segment of the road on random roads and types
+    java.util.Random random = new java.util.Random(7);
+    boolean coverPassed = true;
+    for (int trial = 0; trial < 5000; trial++) {
+        java.util.List<PatchType> types = new java.util.ArrayList<>();
+        for (int t = random.nextInt(3) + 1; t > 0; t--) {
+            types.add(new PatchType(random.nextInt(6) + 1, random.nextInt(10)));
+        }
+        char[] segments = new char[random.nextInt(30)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = random.nextInt(3) == 0 ? 'X' : '.';
+        }
+        // cheapest[i]: cheapest cover of the potholes from segment i on
+        long[] cheapest = new long[segments.length + 1];
+        for (int i = segments.length - 1; i >= 0; i--) {
+            cheapest[i] = segments[i] == 'X' ? Long.MAX_VALUE : cheapest[i + 1];
+            for (PatchType type : types) {
+                if (segments[i] == 'X') {
+                    cheapest[i] = Math.min(cheapest[i], type.cost + cheapest[Math.min(segments.length, i + type.width)]);
+                }
+            }
+        }
+        coverPassed &= minCostCover(types, new String(segments)) == cheapest[0];
+    }
+    System.out.println("Min-cost cover cross-check: " + (coverPassed ? "PASSED" : "FAILED"));
+
+    // Edge Case 11: Budget queries against one planner
+    CapacityPlanner planner = new CapacityPlanner(L1, L2); // ".X..X" then "X.X.X"
+    System.out.println("Edge Case 11: Capacity Planner");
+    System.out.println(planner.canRepairWithin(3)); // Output: false
+    System.out.println(planner.potholesRepaired(2)); // Output: 3
+    System.out.println(planner.potholesRepaired(3)); // Output: 4
+    System.out.println(planner.longestRepairedPrefix(2)); // Output: 5 (all of L1)
+    System.out.println(planner.patchesForPotholes(4)); // Output: 3
+    System.out.println(planner.patchesForPrefix(5)); // Output: 2
+    System.out.println(new CapacityPlanner("X.....XXX").potholesRepaired(1)); // Output: 3
+
+    // Pothole queries against a DP over every segment, allowing any patch placement
+    boolean plannerPassed = true;
+    for (int trial = 0; trial < 5000; trial++) {
+        String[] roads = new String[random.nextInt(3) + 1];
+        for (int r = 0; r < roads.length; r++) {
+            char[] segments = new char[random.nextInt(20)];
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = random.nextInt(2) == 0 ? 'X' : '.';
+            }
+            roads[r] = new String(segments);
+        }
+        CapacityPlanner randomPlanner = new CapacityPlanner(roads);
+        int maxPatches = randomPlanner.totalPatches() + 1;
+
+        // best[k]: most potholes repaired with k patches over the roads seen so far
+        long[] best = new long[maxPatches + 1];
+        for (String road : roads) {
+            int n = road.length();
+            // most[k][i]: most potholes repaired in segments i onwards of this road with k patches
+            long[][] most = new long[maxPatches + 1][n + 1];
+            for (int k = 1; k <= maxPatches; k++) {
+                for (int i = n - 1; i >= 0; i--) {
+                    int covered = 0;
+                    for (int j = i; j < Math.min(n, i + 3); j++) {
+                        covered += road.charAt(j) == 'X' ? 1 : 0;
+                    }
+                    most[k][i] = Math.max(most[k][i + 1], covered + most[k - 1][Math.min(n, i + 3)]);
+                }
+            }
+            long[] combined = new long[maxPatches + 1];
+            for (int k = 0; k <= maxPatches; k++) {
+                for (int onRoad = 0; onRoad <= k; onRoad++) {
+                    combined[k] = Math.max(combined[k], best[k - onRoad] + most[onRoad][0]);
+                }
+            }
+            best = combined;
+        }
+        for (int k = 0; k <= maxPatches; k++) {
+            plannerPassed &= randomPlanner.potholesRepaired(k) == best[k];
+        }
+        for (int potholes = 0; potholes <= randomPlanner.totalPotholes() + 1; potholes++) {
+            int fewest = 0;
+            while (fewest <= maxPatches && best[fewest] < potholes) {
+                fewest++;
+            }
+            plannerPassed &= randomPlanner.patchesForPotholes(potholes) == (fewest > maxPatches ? -1 : fewest);
+        }
+    }
+    System.out.println("Capacity planner cross-check: " + (plannerPassed ? "PASSED" : "FAILED"));
+
+    // Edge Case 12: Multi-lane patching with one machine
+    System.out.println("Edge Case 12: Multi-Lane Patching");
+    System.out.println(multiLanePatching(L1, L2)); // Output: 2 (same as Problem 3)
+    System.out.println(multiLanePatching(L1_long, L2_short)); // Output: 3
+    System.out.println(multiLanePatching("X", "..X", "....X", "")); // Output: 2
+    String[] highway = new String[16];
+    for (int lane = 0; lane < highway.length; lane++) {
+        highway[lane] = ".".repeat(lane * 3) + "X";
+    }
+    System.out.println(multiLanePatching(highway)); // Output: 16
+
+    // Two lanes must agree with simultaneousPatching, including lanes longer than 64 segments
+    boolean multiLanePassed = true;
+    for (int trial = 0; trial < 5000; trial++) {
+        String[] lanes = new String[2];
+        for (int lane = 0; lane < lanes.length; lane++) {
+            char[] segments = new char[random.nextInt(150)];
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = random.nextInt(4) == 0 ? 'X' : '.';
+            }
+            lanes[lane] = new String(segments);
+        }
+        multiLanePassed &= multiLanePatching(lanes) == simultaneousPatching(lanes[0], lanes[1]);
+    }
+    System.out.println("Multi-lane cross-check: " + (multiLanePassed ? "PASSED" : "FAILED"));
+    try {
+        multiLanePatching(new long[][]{{1L}, {1L << 10}}, new int[]{5, 5});
+        System.out.println("Lane past its length: accepted");
+    } catch (IllegalArgumentException e) {
+        System.out.println("Lane past its length: rejected"); // Output: rejected
+    }
     }
 	
 }
\ No newline at end of file
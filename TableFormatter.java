@@ -1,3 +1,17 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
 public class TableFormatter {
     public static void formatTable(int[] array, int K) {
         if (array == null || array.length == 0 || K <= 0) {
@@ -42,6 +56,250 @@ public class TableFormatter {
         }
     }
 
+    /**
+     * Destination for rendered bytes.
+     */
+    @FunctionalInterface
+    interface ByteSink {
+        void write(byte[] bytes, int length) throws IOException;
+    }
+
+    /**
+     * Renders the same table as formatTable(array, K), byte for byte, into a ByteBuffer.
+     *
+     * @throws BufferOverflowException if out has too little room
+     */
+    public static void formatTable(int[] array, int K, ByteBuffer out) {
+        try {
+            render(array, K, (bytes, length) -> out.put(bytes, 0, length));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // A ByteBuffer never throws IOException
+        }
+    }
+
+    /**
+     * Renders the same table as formatTable(array, K), byte for byte, into a stream.
+     */
+    public static void formatTable(int[] array, int K, OutputStream out) throws IOException {
+        render(array, K, (bytes, length) -> out.write(bytes, 0, length));
+    }
+
+    /**
+     * Renders the same table as formatTable(array, K), byte for byte, into a PrintStream
+     * such as System.out. A PrintStream is both an OutputStream and an Appendable, so this
+     * overload picks the byte path for it.
+     */
+    public static void formatTable(int[] array, int K, PrintStream out) {
+        try {
+            render(array, K, (bytes, length) -> out.write(bytes, 0, length));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // PrintStream.write never throws IOException
+        }
+    }
+
+    /**
+     * Renders the same table as formatTable(array, K) into a Writer or any other Appendable.
+     */
+    public static void formatTable(int[] array, int K, Appendable out) throws IOException {
+        char[] chars = new char[RENDER_BUFFER_SIZE];
+        render(array, K, (bytes, length) -> {
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) bytes[i]; // The table is plain ASCII
+            }
+            if (out instanceof Writer) {
+                ((Writer) out).write(chars, 0, length);
+            } else {
+                out.append(CharBuffer.wrap(chars, 0, length));
+            }
+        });
+    }
+
+    private static final int RENDER_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Writes the table into one reusable byte buffer, handing it to the sink each time it
+     * fills up. Numbers are written right-aligned straight into the buffer, and their
+     * widths are computed arithmetically, so no String is created per cell.
+     */
+    private static void render(int[] array, int K, ByteSink sink) throws IOException {
+        byte[] newline = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+        byte[] buffer = new byte[RENDER_BUFFER_SIZE];
+        int position = 0;
+
+        if (array == null || array.length == 0 || K <= 0) {
+            byte[] message = "Invalid input!".getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(message, 0, buffer, 0, message.length);
+            System.arraycopy(newline, 0, buffer, message.length, newline.length);
+            sink.write(buffer, message.length + newline.length);
+            return;
+        }
+
+        int maxDigits = 0;
+        for (int num : array) {
+            maxDigits = Math.max(maxDigits, width(num));
+        }
+
+        // The border is built once and copied for every row
+        byte[] border = new byte[1 + K * (maxDigits + 1) + newline.length];
+        int b = 0;
+        border[b++] = '+';
+        for (int i = 0; i < K; i++) {
+            for (int d = 0; d < maxDigits; d++) {
+                border[b++] = '-';
+            }
+            border[b++] = '+';
+        }
+        System.arraycopy(newline, 0, border, b, newline.length);
+
+        // Longest single write: a cell, a row end plus border, or the border alone
+        int maxChunk = maxDigits + 1 + newline.length + border.length;
+        if (maxChunk > buffer.length) {
+            buffer = new byte[maxChunk];
+        }
+
+        System.arraycopy(border, 0, buffer, position, border.length);
+        position += border.length;
+
+        int count = 0;
+        for (int num : array) {
+            if (buffer.length - position < maxChunk + 1) {
+                sink.write(buffer, position);
+                position = 0;
+            }
+            if (count == 0) {
+                buffer[position++] = '|';
+            }
+            position = writePadded(buffer, position, num, maxDigits);
+            buffer[position++] = '|';
+            count++;
+            if (count == K) {
+                System.arraycopy(newline, 0, buffer, position, newline.length);
+                position += newline.length;
+                System.arraycopy(border, 0, buffer, position, border.length);
+                position += border.length;
+                count = 0;
+            }
+        }
+        if (count != 0) {
+            while (count < K) {
+                if (buffer.length - position < maxChunk) {
+                    sink.write(buffer, position);
+                    position = 0;
+                }
+                for (int d = 0; d < maxDigits; d++) {
+                    buffer[position++] = ' ';
+                }
+                buffer[position++] = '|';
+                count++;
+            }
+            if (buffer.length - position < maxChunk) {
+                sink.write(buffer, position);
+                position = 0;
+            }
+            System.arraycopy(newline, 0, buffer, position, newline.length);
+            position += newline.length;
+            System.arraycopy(border, 0, buffer, position, border.length);
+            position += border.length;
+        }
+        sink.write(buffer, position);
+    }
+
+    /**
+     * Number of characters in the decimal form of num, including a minus sign.
+     */
+    static int width(int num) {
+        long value = num;
+        int width = 1;
+        if (value < 0) {
+            value = -value;
+            width++;
+        }
+        while (value >= 10) {
+            value /= 10;
+            width++;
+        }
+        return width;
+    }
+
+    /**
+     * Writes num right-aligned in a field of the given width, like printf("%<width>d").
+     *
+     * @return The position after the field
+     */
+    private static int writePadded(byte[] buffer, int position, int num, int width) {
+        int end = position + width;
+        long value = num;
+        boolean isNegative = value < 0;
+        if (isNegative) {
+            value = -value;
+        }
+
+        int i = end;
+        do {
+            buffer[--i] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        if (isNegative) {
+            buffer[--i] = '-';
+        }
+        while (i > position) {
+            buffer[--i] = ' ';
+        }
+        return end;
+    }
+
+    /**
+     * Checks that the renderer matches formatTable byte for byte, then measures its
+     * throughput in cells per second.
+     */
+    static void testRenderer() throws IOException {
+        int[][] arrays = {{123, 5, 6, 14}, {1, 22, 333, 4444, 55555, 666666}, {10, 20, 30}, {},
+                          null, {1, 2, 3}, {-7, Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1}};
+        int[] columns = {2, 3, 4, 3, 3, 0, 2};
+
+        boolean allMatch = true;
+        PrintStream originalOut = System.out;
+        for (int t = 0; t < arrays.length; t++) {
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(expected, true));
+            try {
+                formatTable(arrays[t], columns[t]);
+            } finally {
+                System.setOut(originalOut);
+            }
+
+            ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+            formatTable(arrays[t], columns[t], streamed);
+            StringWriter written = new StringWriter();
+            formatTable(arrays[t], columns[t], written);
+            ByteBuffer buffered = ByteBuffer.allocate(expected.size());
+            formatTable(arrays[t], columns[t], buffered);
+            ByteArrayOutputStream printed = new ByteArrayOutputStream();
+            formatTable(arrays[t], columns[t], new PrintStream(printed, true));
+
+            allMatch &= Arrays.equals(expected.toByteArray(), streamed.toByteArray())
+                    && expected.toString().equals(written.toString())
+                    && Arrays.equals(expected.toByteArray(), buffered.array())
+                    && Arrays.equals(expected.toByteArray(), printed.toByteArray());
+        }
+        System.out.println("Renderer matches formatTable: " + (allMatch ? "PASSED" : "FAILED"));
+        formatTable(new int[]{1, 2, 3}, 2, System.out);
+
+        // Throughput: 10M cells rendered to a stream that discards its input
+        int[] cells = new int[10_000_000];
+        Random random = new Random(1);
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = random.nextInt(1_000_000);
+        }
+        OutputStream discard = OutputStream.nullOutputStream();
+        formatTable(cells, 10, discard); // Warm up
+        long startTime = System.nanoTime();
+        formatTable(cells, 10, discard);
+        long elapsed = System.nanoTime() - startTime;
+        System.out.println("Rendered " + cells.length + " cells at "
+                           + (cells.length * 1_000_000_000L / Math.max(1, elapsed)) + " cells/s");
+    }
+
     public static void main(String[] args) {
         // Test cases
         System.out.println("Test Case 1:");
@@ -61,5 +319,11 @@ public class TableFormatter {
 
         System.out.println("Test Case 6:");
         formatTable(new int[]{1, 2, 3}, 0); // Invalid K
+
+        try {
+            testRenderer();
+        } catch (IOException e) {
+            System.out.println("Renderer test failed: " + e.getMessage());
+        }
     }
 }